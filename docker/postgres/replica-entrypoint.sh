@@ -0,0 +1,16 @@
+#!/bin/bash
+# Реплика: при пустом каталоге данных копирует основную базу через pg_basebackup и запускается в режиме hot standby
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until PGPASSWORD="$REPLICATION_PASSWORD" pg_basebackup -h "$PRIMARY_HOST" -U "$REPLICATION_USER" \
+            -D "$PGDATA" -R -X stream -P; do
+        echo "Waiting for primary..."
+        rm -rf "${PGDATA:?}"/*
+        sleep 2
+    done
+    chmod 700 "$PGDATA"
+fi
+
+chown -R postgres:postgres "$PGDATA"
+exec gosu postgres postgres -c hot_standby=on
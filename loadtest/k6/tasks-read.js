@@ -0,0 +1,80 @@
+// Нагрузочный тест чтения задач для сравнения платформенных и виртуальных потоков.
+// Запуск: k6 run -e BASE_URL=http://localhost:8080 -e VUS=500 loadtest/k6/tasks-read.js
+// Сравнение обоих режимов с записью результатов: loadtest/run-compare.sh
+import http from 'k6/http';
+import { check } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 500);
+const DURATION = __ENV.DURATION || '2m';
+const TASKS = Number(__ENV.TASKS || 200);
+// Параметры запуска, которые попадают в результат вместе с измерениями
+const MODE = __ENV.MODE || 'unknown';
+const POOL_SIZE = __ENV.POOL_SIZE || 'unknown';
+const HOST = __ENV.HOST || 'unknown';
+const RESULTS_DIR = __ENV.RESULTS_DIR || 'loadtest/results';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export function setup() {
+    const credentials = { email: `k6-${Date.now()}@mail.ru`, password: 'password123' };
+    http.post(`${BASE_URL}/user/registration`, JSON.stringify(credentials), { headers: JSON_HEADERS });
+    const signIn = http.post(`${BASE_URL}/auth/sign-in`, JSON.stringify(credentials), { headers: JSON_HEADERS });
+    const token = signIn.json('token');
+    const headers = Object.assign({ Authorization: `Bearer ${token}` }, JSON_HEADERS);
+    const userId = http.get(`${BASE_URL}/user/email/${credentials.email}`, { headers }).json('id');
+
+    const tasks = [];
+    for (let i = 0; i < TASKS; i++) {
+        tasks.push({ title: `Load test task ${i}`, description: 'k6', status: 'WAITING', priority: 'MEDIUM' });
+    }
+    http.post(`${BASE_URL}/tasks/bulk`, JSON.stringify(tasks), { headers });
+    return { headers, userId };
+}
+
+export default function (data) {
+    const page = Math.floor(Math.random() * 10);
+    const byAuthor = http.get(`${BASE_URL}/tasks/${data.userId}/created?page=${page}&size=20`,
+        { headers: data.headers, tags: { name: 'tasks-by-author' } });
+    check(byAuthor, { 'tasks by author 200': r => r.status === 200 });
+
+    const search = http.get(`${BASE_URL}/tasks/search?q=load&size=20`,
+        { headers: data.headers, tags: { name: 'tasks-search' } });
+    check(search, { 'search 200': r => r.status === 200 });
+}
+
+// Кроме обычного отчёта сохраняет строку таблицы README и параметры запуска в RESULTS_DIR/<MODE>.json
+export function handleSummary(data) {
+    const result = {
+        mode: MODE,
+        vus: VUS,
+        duration: DURATION,
+        poolSize: POOL_SIZE,
+        host: HOST,
+        httpReqsPerSecond: Number(data.metrics.http_reqs.values.rate.toFixed(1)),
+        p99Millis: Number(data.metrics.http_req_duration.values['p(99)'].toFixed(1)),
+        failedRate: data.metrics.http_req_failed.values.rate,
+    };
+    const row = `| ${MODE} | ${VUS} | ${POOL_SIZE} | ${result.httpReqsPerSecond} | ${result.p99Millis} |`;
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }) + `\n${row}\n`,
+        [`${RESULTS_DIR}/${MODE}.json`]: JSON.stringify(result, null, 2),
+    };
+}
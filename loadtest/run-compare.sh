@@ -0,0 +1,48 @@
+#!/bin/bash
+# Прогоняет loadtest/k6/tasks-read.js на docker compose с платформенными и виртуальными потоками.
+# Результаты и параметры запуска (VUS, размер пула, машина) сохраняются в loadtest/results
+set -euo pipefail
+
+VUS=${VUS:-500}
+DURATION=${DURATION:-2m}
+DB_POOL_SIZE=${DB_POOL_SIZE:-10}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+RESULTS_DIR=loadtest/results
+HOST="$(uname -sm), $(nproc) CPU, $(awk '/MemTotal/ {printf "%.0f GiB RAM", $2 / 1048576}' /proc/meminfo)"
+
+cd "$(dirname "$0")/.."
+mkdir -p "$RESULTS_DIR"
+
+wait_for_backend() {
+    for _ in $(seq 1 60); do
+        if curl -fs "$BASE_URL/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    echo "Backend is not up at $BASE_URL" >&2
+    exit 1
+}
+
+for virtual in false true; do
+    mode=$([ "$virtual" = true ] && echo virtual || echo platform)
+    RATE_LIMIT_ENABLED=false VIRTUAL_THREADS_ENABLED=$virtual DB_POOL_SIZE=$DB_POOL_SIZE \
+        docker compose up -d --build --force-recreate backend
+    wait_for_backend
+    k6 run -e BASE_URL="$BASE_URL" -e VUS="$VUS" -e DURATION="$DURATION" \
+        -e MODE="$mode" -e POOL_SIZE="$DB_POOL_SIZE" -e HOST="$HOST" -e RESULTS_DIR="$RESULTS_DIR" \
+        loadtest/k6/tasks-read.js
+done
+
+{
+    echo "Машина: $HOST, VUS=$VUS, DURATION=$DURATION"
+    echo
+    echo "| Режим | VUS | maximum-pool-size | http_reqs/s | p(99), мс |"
+    echo "|-------|-----|-------------------|-------------|-----------|"
+    for mode in platform virtual; do
+        awk -v mode="$mode" -F': ' '
+            /"vus"/ { vus = $2 } /"poolSize"/ { pool = $2 } /"httpReqsPerSecond"/ { rps = $2 } /"p99Millis"/ { p99 = $2 }
+            END { gsub(/[",]/, "", vus); gsub(/[",]/, "", pool); gsub(/[",]/, "", rps); gsub(/[",]/, "", p99);
+                  printf "| %s | %s | %s | %s | %s |\n", mode, vus, pool, rps, p99 }' "$RESULTS_DIR/$mode.json"
+    done
+} | tee "$RESULTS_DIR/summary.md"
@@ -0,0 +1,99 @@
+package com.example.taskmanagment.benchmarks;
+
+import com.example.taskmanagment.adapters.in.security.jwt.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость аутентификации одного запроса в JwtFilter:
+ * <ul>
+ *     <li>legacy - прежняя схема: validateJwtToken и getEmailFromToken, каждый раз новый ключ и парсер, два разбора;</li>
+ *     <li>singleParse - один разбор готовым парсером {@link JwtVerifier} без кэша;</li>
+ *     <li>cached - {@link JwtVerifier} с кэшем проверенных токенов, как в приложении.</li>
+ * </ul>
+ * Параметр tokens - количество разных токенов, которые приходят по кругу (число активных пользователей).
+ * Запуск: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String SECRET = "9ba01a658786f5fc4776cac722a6ea5a6d443af4f99997bad9c2a4cf3aa0190e";
+
+    @Param({"1", "1000"})
+    private int tokens;
+
+    private String[] issuedTokens;
+    private JwtVerifier singleParseVerifier;
+    private JwtVerifier cachedVerifier;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        issuedTokens = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            issuedTokens[i] = Jwts.builder()
+                    .subject("user" + i + "@mail.ru")
+                    .expiration(expiration)
+                    .signWith(key)
+                    .compact();
+        }
+        singleParseVerifier = new JwtVerifier(key, 0);
+        cachedVerifier = new JwtVerifier(key, 10_000);
+    }
+
+    @Benchmark
+    public String legacy() {
+        String token = nextToken();
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return singleParseVerifier.verify(nextToken()).map(Claims::getSubject).orElseThrow();
+    }
+
+    @Benchmark
+    public String cached() {
+        return cachedVerifier.verify(nextToken()).map(Claims::getSubject).orElseThrow();
+    }
+
+    private String nextToken() {
+        String token = issuedTokens[next];
+        next = (next + 1) % tokens;
+        return token;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.taskmanagment.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает смену статуса задачи под конкуренцией:
+ * <ul>
+ *     <li>readModifyWrite - прежний путь: SELECT задачи, проверка прав в Java, UPDATE всей строки;</li>
+ *     <li>conditional - один условный UPDATE с проверкой прав в WHERE, как в TaskRepositoryJpaImpl.updateStatus;</li>
+ *     <li>conditionalVersioned - то же, но с проверкой версии, которую передал клиент.</li>
+ * </ul>
+ * Потоки меняют статус небольшого набора "горячих" задач. Счётчики lostUpdates и conflicts показывают,
+ * сколько изменений прошло поверх чужих (readModifyWrite) и сколько было отклонено по версии (conditional).
+ * <p>
+ * Требуется запущенный PostgreSQL, параметры подключения - системные свойства bench.db.url, bench.db.user, bench.db.password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class TaskStatusContentionBenchmark {
+    private static final String[] STATUSES = {"WAITING", "IN_PROGRESS", "COMPLETED"};
+
+    @Param({"1", "16"})
+    private int hotTasks;
+
+    private UUID authorId;
+    private UUID[] taskIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        authorId = UUID.randomUUID();
+        taskIds = new UUID[hotTasks];
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_task_contention");
+            statement.execute("""
+                    CREATE TABLE bench_task_contention (
+                        id UUID PRIMARY KEY,
+                        title VARCHAR(255),
+                        description VARCHAR(2048),
+                        status VARCHAR(255),
+                        priority VARCHAR(255),
+                        updated_at TIMESTAMP(6),
+                        author_id UUID NOT NULL,
+                        assignee_id UUID,
+                        version BIGINT NOT NULL DEFAULT 0)""");
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO bench_task_contention (id, title, description, status, priority, author_id, assignee_id) VALUES (?, 'hot task', 'description', 'WAITING', 'LOW', ?, ?)")) {
+                for (int i = 0; i < hotTasks; i++) {
+                    taskIds[i] = UUID.randomUUID();
+                    insert.setObject(1, taskIds[i]);
+                    insert.setObject(2, authorId);
+                    insert.setObject(3, UUID.randomUUID());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_task_contention");
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Client {
+        /** Изменения, записанные поверх чужого изменения, сделанного между SELECT и UPDATE **/
+        public long lostUpdates;
+        /** Изменения, отклонённые из-за устаревшей версии **/
+        public long conflicts;
+
+        private final Map<UUID, Long> knownVersions = new HashMap<>();
+        private Connection connection;
+        private PreparedStatement select;
+        private PreparedStatement fullUpdate;
+        private PreparedStatement conditionalUpdate;
+        private PreparedStatement versionedUpdate;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            connection = connect();
+            select = connection.prepareStatement(
+                    "SELECT title, description, status, priority, author_id, assignee_id, version FROM bench_task_contention WHERE id = ?");
+            fullUpdate = connection.prepareStatement(
+                    "UPDATE bench_task_contention SET title = ?, description = ?, status = ?, priority = ?, updated_at = now(), author_id = ?, assignee_id = ?, version = version + 1 WHERE id = ? RETURNING version");
+            conditionalUpdate = connection.prepareStatement(
+                    "UPDATE bench_task_contention SET status = ?, updated_at = now(), version = version + 1 WHERE id = ? AND (author_id = ? OR assignee_id = ?)");
+            versionedUpdate = connection.prepareStatement(
+                    "UPDATE bench_task_contention SET status = ?, updated_at = now(), version = version + 1 WHERE id = ? AND version = ? AND (author_id = ? OR assignee_id = ?)");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+        private long readVersion(UUID taskId) throws SQLException {
+            select.setObject(1, taskId);
+            try (ResultSet task = select.executeQuery()) {
+                task.next();
+                return task.getLong("version");
+            }
+        }
+    }
+
+    /**
+     * Прежний путь changeStatus: чтение задачи, проверка прав в Java и UPDATE всех колонок без проверки версии
+     */
+    @Benchmark
+    public void readModifyWrite(Client client) throws SQLException {
+        UUID taskId = randomTask();
+        long seenVersion;
+        client.select.setObject(1, taskId);
+        try (ResultSet task = client.select.executeQuery()) {
+            task.next();
+            UUID author = task.getObject("author_id", UUID.class);
+            UUID assignee = task.getObject("assignee_id", UUID.class);
+            if (!authorId.equals(author) && !authorId.equals(assignee)) {
+                return;
+            }
+            seenVersion = task.getLong("version");
+            client.fullUpdate.setString(1, task.getString("title"));
+            client.fullUpdate.setString(2, task.getString("description"));
+            client.fullUpdate.setString(3, randomStatus());
+            client.fullUpdate.setString(4, task.getString("priority"));
+            client.fullUpdate.setObject(5, author);
+            client.fullUpdate.setObject(6, assignee);
+            client.fullUpdate.setObject(7, taskId);
+        }
+        try (ResultSet updated = client.fullUpdate.executeQuery()) {
+            updated.next();
+            if (updated.getLong(1) != seenVersion + 1) {
+                client.lostUpdates++;
+            }
+        }
+    }
+
+    /**
+     * Новый путь changeStatus без параметра version: один условный UPDATE с проверкой прав
+     */
+    @Benchmark
+    public void conditional(Client client) throws SQLException {
+        client.conditionalUpdate.setString(1, randomStatus());
+        client.conditionalUpdate.setObject(2, randomTask());
+        client.conditionalUpdate.setObject(3, authorId);
+        client.conditionalUpdate.setObject(4, authorId);
+        client.conditionalUpdate.executeUpdate();
+    }
+
+    /**
+     * Новый путь changeStatus с параметром version: клиент передаёт последнюю известную ему версию,
+     * при конфликте перечитывает задачу
+     */
+    @Benchmark
+    public void conditionalVersioned(Client client) throws SQLException {
+        UUID taskId = randomTask();
+        Long knownVersion = client.knownVersions.get(taskId);
+        if (knownVersion == null) {
+            knownVersion = client.readVersion(taskId);
+        }
+        client.versionedUpdate.setString(1, randomStatus());
+        client.versionedUpdate.setObject(2, taskId);
+        client.versionedUpdate.setLong(3, knownVersion);
+        client.versionedUpdate.setObject(4, authorId);
+        client.versionedUpdate.setObject(5, authorId);
+        if (client.versionedUpdate.executeUpdate() == 0) {
+            client.conflicts++;
+            client.knownVersions.put(taskId, client.readVersion(taskId));
+        } else {
+            client.knownVersions.put(taskId, knownVersion + 1);
+        }
+    }
+
+    private UUID randomTask() {
+        return taskIds[ThreadLocalRandom.current().nextInt(taskIds.length)];
+    }
+
+    private static String randomStatus() {
+        return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/task_manager"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+        connection.setAutoCommit(true);
+        return connection;
+    }
+}
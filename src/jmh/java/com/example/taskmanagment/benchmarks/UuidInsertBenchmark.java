@@ -0,0 +1,97 @@
+package com.example.taskmanagment.benchmarks;
+
+import com.example.taskmanagment.application.utils.ids.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает скорость вставки в таблицу с первичным ключом UUID для случайных UUID версии 4
+ * (текущая стратегия GenerationType.UUID) и UUID версии 7 из {@link UuidV7Generator}.
+ * После прогона печатает размер индекса первичного ключа и количество вставленных строк.
+ * <p>
+ * Требуется запущенный PostgreSQL. Параметры подключения задаются системными свойствами
+ * bench.db.url, bench.db.user, bench.db.password, по умолчанию используется база из docker-compose.
+ * Запуск: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"v4", "v7"})
+    private String strategy;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/task_manager?reWriteBatchedInserts=true"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+        connection.setAutoCommit(false);
+        table = "bench_uuid_" + strategy;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, created_date TIMESTAMP(6) NOT NULL DEFAULT now(), title VARCHAR(255))");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, title) VALUES (?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, nextId());
+            insert.setString(2, "benchmark task");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT count(*), pg_size_pretty(pg_relation_size('" + table + "_pkey')), pg_relation_size('" + table + "_pkey') FROM " + table)) {
+            resultSet.next();
+            System.out.printf("%n[%s] rows: %d, primary key index size: %s (%d bytes)%n",
+                    strategy, resultSet.getLong(1), resultSet.getString(2), resultSet.getLong(3));
+        }
+        insert.close();
+        connection.close();
+    }
+
+    private UUID nextId() {
+        return "v7".equals(strategy) ? UuidV7Generator.next() : UUID.randomUUID();
+    }
+}
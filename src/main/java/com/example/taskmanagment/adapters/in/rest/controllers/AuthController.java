@@ -54,12 +54,14 @@ public class AuthController {
     @Operation(
             summary = "Получение токена авторизации через токен обновления",
             description = """
-                    Получает токен обновления, проверяет его подлинность и возвращает новый токен аутентификации и текущий токен обновления.
+                    Получает токен обновления, проверяет его подлинность и возвращает новый токен аутентификации и новый токен обновления.
+                    Предъявленный токен обновления становится недействительным. Повторное предъявление уже заменённого токена отзывает весь вход.
                     """
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Повторная аутентификация прошла успешно", content = @Content(schema = @Schema(implementation = JwtAuthenticationDto.class))),
             @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "401", description = "Токен обновления невалиден, уже использован или отозван", content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))
     })
     @PostMapping("/refresh")
@@ -67,5 +69,22 @@ public class AuthController {
         return userService.refreshToken(refreshTokenDto);
     }
 
+    @Operation(
+            summary = "Выход",
+            description = """
+                    Отзывает токен обновления и все токены аутентификации, выданные по этому входу.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Выход выполнен"),
+            @ApiResponse(responseCode = "401", description = "Токен обновления невалиден", content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenDto refreshTokenDto) {
+        userService.logout(refreshTokenDto);
+        return ResponseEntity.noContent().build();
+    }
+
 
 }
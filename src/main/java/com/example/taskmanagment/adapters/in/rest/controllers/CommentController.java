@@ -2,10 +2,12 @@ package com.example.taskmanagment.adapters.in.rest.controllers;
 
 import com.example.taskmanagment.application.domain.dto.CommentUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import com.example.taskmanagment.application.domain.dto.CursorPageDTO;
 import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
 import com.example.taskmanagment.application.domain.enums.PriorityLevel;
 import com.example.taskmanagment.application.domain.enums.TaskStatus;
 import com.example.taskmanagment.application.ports.in.CommentService;
+import com.example.taskmanagment.application.ports.in.ReactiveCommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -17,8 +19,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -29,6 +33,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final ReactiveCommentService reactiveCommentService;
 
 
     @Operation(
@@ -100,5 +105,56 @@ public class CommentController {
     }
 
 
+    @Operation(
+            summary = "Получить комментарии к задаче, по её ID, с курсорной пагинацией",
+            description = """
+                    Режим включается параметром cursor. Для первой страницы cursor передаётся пустым, для следующих - значение nextCursor из предыдущего ответа.
+                    Комментарии отсортированы от старых к новым, стоимость запроса не зависит от номера страницы.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = {
+                    @Parameter(name = "cursor", description = "Курсор следующей страницы. Пустой для первой страницы", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "size", description = "Размер одной страницы. По умолчанию: 10", required = false, schema = @Schema(implementation = String.class)),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Комментарии получены", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+
+    )
+    @GetMapping(value = "/{taskId}", params = "cursor")
+    public ResponseEntity<CursorPageDTO<CommentViewDTO>> getCommentsFromTaskAfterCursor(@PathVariable("taskId") String taskId,
+                                                                                      @RequestParam(name = "cursor", defaultValue = "") String cursor,
+                                                                                      @RequestParam(name = "size", defaultValue = "10") String size){
+        CursorPageDTO<CommentViewDTO> response = commentService.getCommentPageByTask(taskId, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+
+    @Operation(
+            summary = "Получить потоком все комментарии к задаче, по её ID",
+            description = """
+                    Возвращает комментарии от старых к новым в формате NDJSON (один комментарий на строку).
+                    Комментарии читаются из базы через R2DBC по мере того, как клиент их принимает, поток на запрос не выделяется.
+                    Для несуществующей задачи поток пустой.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток комментариев", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = CommentViewDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "429", description = "Слишком много запросов", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+
+    )
+    @GetMapping(value = "/{taskId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CommentViewDTO> streamCommentsFromTask(@PathVariable("taskId") String taskId) {
+        return reactiveCommentService.streamCommentsByTask(taskId);
+    }
+
+
 
 }
@@ -3,10 +3,21 @@ package com.example.taskmanagment.adapters.in.rest.controllers;
 import com.example.taskmanagment.adapters.in.rest.exceptions.PermissionDeniedException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.TaskNotFoundException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.UserNotFoundException;
+import com.example.taskmanagment.adapters.in.rest.sse.TaskEventBroadcaster;
+import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
+import com.example.taskmanagment.application.domain.dto.BulkDeleteResultDTO;
+import com.example.taskmanagment.application.domain.dto.BulkTaskResultDTO;
+import com.example.taskmanagment.application.domain.dto.BulkUpdateResultDTO;
+import com.example.taskmanagment.application.domain.dto.CursorPageDTO;
+import com.example.taskmanagment.application.domain.dto.TaskBulkDeleteDTO;
+import com.example.taskmanagment.application.domain.dto.TaskBulkUpdateDTO;
+import com.example.taskmanagment.application.domain.dto.TaskEventDTO;
+import com.example.taskmanagment.application.domain.dto.TaskStatsDTO;
 import com.example.taskmanagment.application.domain.dto.TaskUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
 import com.example.taskmanagment.application.domain.enums.PriorityLevel;
 import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.ports.in.ReactiveTaskService;
 import com.example.taskmanagment.application.ports.in.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,8 +32,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -33,6 +48,8 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ReactiveTaskService reactiveTaskService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
 
 
     @Operation(
@@ -57,6 +74,148 @@ public class TaskController {
     }
 
 
+    @Operation(
+            summary = "Создать задачи пакетом",
+            description = """
+                    Получает список DTO для создания задач. Каждая задача валидируется отдельно, невалидные задачи
+                    не сохраняются и не мешают сохранению остальных. Возвращает результат по каждой задаче в порядке запроса.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Пакет обработан", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BulkTaskResultDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Превышен размер пакета", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "403", description = "Не авторизован", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))
+            }
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResultDTO>> createTasks(@RequestBody List<TaskUpdateDTO> tasks) {
+        List<BulkTaskResultDTO> results = taskService.createTasks(tasks);
+        return ResponseEntity.status(HttpStatus.OK).body(results);
+    }
+
+
+    @Operation(
+            summary = "Изменить задачи пакетом",
+            description = """
+                    Получает список ID задач и/или фильтр (author, assignee, status, priority) и новые значения status, priority, assigneeEmail.
+                    Изменение выполняется одним запросом, задачи без прав на изменение пропускаются. Возвращает количество изменённых задач.
+                    ДОСТУП: Статус - автор и исполнитель задачи, приоритет и исполнитель - только автор задачи
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи изменены", content = @Content(schema = @Schema(implementation = BulkUpdateResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Не передана выборка или изменения", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "404", description = "Не найден исполнитель", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))
+            }
+    )
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkUpdateResultDTO> updateTasks(@RequestBody TaskBulkUpdateDTO update) throws UserNotFoundException {
+        BulkUpdateResultDTO result = taskService.updateTasks(update);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+
+    @Operation(
+            summary = "Удалить задачи пакетом",
+            description = """
+                    Получает список ID задач и/или фильтр (author, assignee, status, priority) и удаляет выбранные задачи одним запросом
+                    вместе с их комментариями. Задачи, автором которых пользователь не является, пропускаются. Возвращает количество удалённых задач.
+                    ДОСТУП: Только автор задачи
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи удалены", content = @Content(schema = @Schema(implementation = BulkDeleteResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Не передана выборка", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))
+            }
+    )
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkDeleteResultDTO> deleteTasks(@RequestBody TaskBulkDeleteDTO delete) {
+        BulkDeleteResultDTO result = taskService.deleteTasks(delete);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+
+    @Operation(
+            summary = "Статистика задач текущего пользователя",
+            description = """
+                    Возвращает количество задач по статусу и приоритету отдельно для задач, созданных пользователем, и задач, где он исполнитель.
+                    ДОСТУП: Любой пользователь, только своя статистика
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ответ получен", content = @Content(schema = @Schema(implementation = TaskStatsDTO.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getTaskStats() {
+        TaskStatsDTO stats = taskService.getTaskStats();
+        return ResponseEntity.status(HttpStatus.OK).body(stats);
+    }
+
+
+    @Operation(
+            summary = "Подписаться на события по задачам пользователя",
+            description = """
+                    Открывает поток Server-Sent Events. Приходят события о создании, изменении, смене исполнителя и удалении задач,
+                    автором или исполнителем которых является пользователь, и о новых комментариях к ним.
+                    Имя события - тип (TASK_CREATED, TASK_UPDATED, TASK_REASSIGNED, TASK_DELETED, COMMENT_CREATED, TASKS_BULK_CREATED,
+                    TASKS_BULK_UPDATED, TASKS_BULK_DELETED), данные - TaskEventDTO в JSON. Периодически приходит комментарий heartbeat.
+                    Если клиент не успевает читать события, соединение закрывается: после переподключения списки задач нужно перечитать.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток событий", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = TaskEventDTO.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "429", description = "Слишком много запросов", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+
+    )
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTaskEvents(@AuthenticationPrincipal CustomUserDetails user) {
+        return taskEventBroadcaster.subscribe(user.id());
+    }
+
+    @Operation(
+            summary = "Поиск задач по тексту",
+            description = """
+                    Получает поисковую строку q и параметры status, priority, page, size. Ищет слова запроса (в том числе по началу слова)
+                    в названии и описании задач, автором или исполнителем которых является пользователь. Возвращает задачи по убыванию релевантности.
+                    ДОСТУП: Любой пользователь, поиск только среди своих задач
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = {
+                    @Parameter(name = "q", description = "Поисковая строка", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "priority", description = "Возможный приоритет задачи {LOW, MEDIUM, HIGH}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "page", description = "Текущая страница, которую нужно показать. По умолчанию: 0", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "size", description = "Размер одной страницы. По умолчанию: 10", required = false, schema = @Schema(implementation = String.class)),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Ответ получен", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskViewDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Пустой запрос или ошибка пагинации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskViewDTO>> searchTasks(@RequestParam(name = "q") String query,
+                                                         @RequestParam(name = "status", required = false) TaskStatus status,
+                                                         @RequestParam(name = "priority", required = false) PriorityLevel priority,
+                                                         @RequestParam(name = "page", defaultValue = "0") String page,
+                                                         @RequestParam(name = "size", defaultValue = "10") String size) {
+        List<TaskViewDTO> tasks = taskService.searchTasks(query, status, priority, page, size);
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
+
     @Operation(
             summary = "Получить задачу по ID (UUID)",
             description = """
@@ -134,24 +293,28 @@ public class TaskController {
             summary = "Обновить статус задачи",
             description = """
                     Получает ID задачи и параметр status. Если задача с таким ID существует, параметр передан правильно, то поле status у сущности обновляется и сохраняется в базу.
+                    Если передан параметр version, задача изменяется, только если её версия не изменилась.
                     ДОСТУП: Автор и исполнитель задачи
                     """,
             security = @SecurityRequirement(name = "bearerAuth"),
             parameters = {
                     @Parameter(name = "taskId", description = "UUID задачи", required = true, schema = @Schema(implementation = String.class)),
-                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = true, schema = @Schema(implementation = String.class))
+                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "version", description = "Версия задачи, полученная клиентом", schema = @Schema(implementation = Long.class))
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Задача изменена", content = @Content(schema = @Schema(implementation = TaskViewDTO.class))),
                     @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
                     @ApiResponse(responseCode = "403", description = "Отказано в доступе", content = @Content(schema = @Schema(implementation = String.class))),
                     @ApiResponse(responseCode = "404", description = "Не найдена задача", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "409", description = "Задача изменена параллельным запросом", content = @Content(schema = @Schema(implementation = String.class))),
                     @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))
             }
     )
     @PatchMapping("/{taskId}/status")
-    public ResponseEntity<TaskViewDTO> changeStatus(@PathVariable("taskId") String taskId, @RequestParam("status") TaskStatus status) throws TaskNotFoundException, UserNotFoundException, PermissionDeniedException {
-        TaskViewDTO response = taskService.changeStatus(taskId, status);
+    public ResponseEntity<TaskViewDTO> changeStatus(@PathVariable("taskId") String taskId, @RequestParam("status") TaskStatus status,
+                                                    @RequestParam(name = "version", required = false) Long version) throws TaskNotFoundException, UserNotFoundException, PermissionDeniedException {
+        TaskViewDTO response = taskService.changeStatus(taskId, status, version);
         return ResponseEntity.status((HttpStatus.OK)).body(response);
     }
 
@@ -160,25 +323,29 @@ public class TaskController {
             summary = "Обновить исполнителя задачи",
             description = """
                     Получает ID задачи и параметр assignee. Если задача с таким ID существует, параметр передан правильно, то поле assignee у сущности обновляется и сохраняется в базу.
+                    Если передан параметр version, задача изменяется, только если её версия не изменилась.
                     ДОСТУП: Только автор задачи
                     """,
             security = @SecurityRequirement(name = "bearerAuth"),
             parameters = {
                     @Parameter(name = "taskId", description = "UUID задачи", required = true, schema = @Schema(implementation = String.class)),
                     @Parameter(name = "assignee", description = "Email нового исполнителя, например {test@mail.ru}", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "version", description = "Версия задачи, полученная клиентом", schema = @Schema(implementation = Long.class))
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "Задача изменена", content = @Content(schema = @Schema(implementation = TaskViewDTO.class))),
                     @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
                     @ApiResponse(responseCode = "403", description = "Отказано в доступе", content = @Content(schema = @Schema(implementation = String.class))),
                     @ApiResponse(responseCode = "404", description = "Не найдена задача", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "409", description = "Задача изменена параллельным запросом", content = @Content(schema = @Schema(implementation = String.class))),
                     @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
 
     )
     @PatchMapping("/{taskId}/assignee")
     public ResponseEntity<TaskViewDTO> changeAssignee(@PathVariable("taskId") String taskId,
-                                                      @RequestParam("assignee") String assigneeEmail) throws TaskNotFoundException, UserNotFoundException, PermissionDeniedException {
-        TaskViewDTO response = taskService.changeAssignee(taskId, assigneeEmail);
+                                                      @RequestParam("assignee") String assigneeEmail,
+                                                      @RequestParam(name = "version", required = false) Long version) throws TaskNotFoundException, UserNotFoundException, PermissionDeniedException {
+        TaskViewDTO response = taskService.changeAssignee(taskId, assigneeEmail, version);
         return ResponseEntity.status((HttpStatus.OK)).body(response);
     }
 
@@ -216,6 +383,40 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.OK).body(tasks);
     }
 
+    @Operation(
+            summary = "Получить задачи созданные пользователем, по его ID, с курсорной пагинацией",
+            description = """
+                    Режим включается параметром cursor. Для первой страницы cursor передаётся пустым, для следующих - значение nextCursor из предыдущего ответа.
+                    Задачи отсортированы от новых к старым, стоимость запроса не зависит от номера страницы.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = {
+                    @Parameter(name = "userId", description = "UUID пользователя", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "priority", description = "Возможный приоритет задачи {LOW, MEDIUM, HIGH}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "cursor", description = "Курсор следующей страницы. Пустой для первой страницы", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "size", description = "Размер одной страницы. По умолчанию: 10", required = false, schema = @Schema(implementation = String.class)),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Страница получена", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "403", description = "Отказано в доступе", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "404", description = "Не найден автор", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+
+    )
+    @GetMapping(value = "/{userId}/created", params = "cursor")
+    public ResponseEntity<CursorPageDTO<TaskViewDTO>> getTasksByAuthorAfterCursor(@PathVariable("userId") String userId,
+                                                      @RequestParam(name = "status", required = false) TaskStatus status,
+                                                      @RequestParam(name = "priority", required = false) PriorityLevel priority,
+                                                      @RequestParam(name = "cursor", defaultValue = "") String cursor,
+                                                      @RequestParam(name = "size", defaultValue = "10") String size) throws UserNotFoundException {
+        CursorPageDTO<TaskViewDTO> tasks = taskService.getTaskPageByAuthor(userId, status, priority, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
 
     @Operation(
             summary = "Получить задачи исполняемые пользователем, по его ID",
@@ -250,7 +451,97 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.OK).body(tasks);
     }
 
+    @Operation(
+            summary = "Получить задачи исполняемые пользователем, по его ID, с курсорной пагинацией",
+            description = """
+                    Режим включается параметром cursor. Для первой страницы cursor передаётся пустым, для следующих - значение nextCursor из предыдущего ответа.
+                    Задачи отсортированы от новых к старым, стоимость запроса не зависит от номера страницы.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = {
+                    @Parameter(name = "userId", description = "UUID пользователя", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "priority", description = "Возможный приоритет задачи {LOW, MEDIUM, HIGH}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "cursor", description = "Курсор следующей страницы. Пустой для первой страницы", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "size", description = "Размер одной страницы. По умолчанию: 10", required = false, schema = @Schema(implementation = String.class)),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Страница получена", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "403", description = "Отказано в доступе", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "404", description = "Не найден исполнитель", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+
+    )
+    @GetMapping(value = "/{userId}/perform", params = "cursor")
+    public ResponseEntity<CursorPageDTO<TaskViewDTO>> getTasksByAssigneeAfterCursor(@PathVariable("userId") String userId,
+                                                      @RequestParam(name = "status", required = false) TaskStatus status,
+                                                      @RequestParam(name = "priority", required = false) PriorityLevel priority,
+                                                      @RequestParam(name = "cursor", defaultValue = "") String cursor,
+                                                      @RequestParam(name = "size", defaultValue = "10") String size) throws UserNotFoundException {
+        CursorPageDTO<TaskViewDTO> tasks = taskService.getTaskPageByAssignee(userId, status, priority, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(tasks);
+    }
+
+    @Operation(
+            summary = "Получить потоком задачи созданные пользователем, по его ID",
+            description = """
+                    Возвращает все задачи автора от новых к старым в формате NDJSON (одна задача на строку).
+                    Задачи читаются из базы через R2DBC по мере того, как клиент их принимает, поток на запрос не выделяется.
+                    Для несуществующего пользователя поток пустой.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = {
+                    @Parameter(name = "userId", description = "UUID пользователя", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "priority", description = "Возможный приоритет задачи {LOW, MEDIUM, HIGH}", required = false, schema = @Schema(implementation = String.class)),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток задач", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = TaskViewDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "429", description = "Слишком много запросов", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
+
+    )
+    @GetMapping(value = "/{userId}/created/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskViewDTO> streamTasksByAuthor(@PathVariable("userId") String userId,
+                                             @RequestParam(name = "status", required = false) TaskStatus status,
+                                             @RequestParam(name = "priority", required = false) PriorityLevel priority) {
+        return reactiveTaskService.streamTasksByAuthor(userId, status, priority);
+    }
+
+    @Operation(
+            summary = "Получить потоком задачи исполняемые пользователем, по его ID",
+            description = """
+                    Возвращает все задачи исполнителя от новых к старым в формате NDJSON (одна задача на строку).
+                    Задачи читаются из базы через R2DBC по мере того, как клиент их принимает, поток на запрос не выделяется.
+                    Для несуществующего пользователя поток пустой.
+                    ДОСТУП: Любой пользователь
+                    """,
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = {
+                    @Parameter(name = "userId", description = "UUID пользователя", required = true, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "status", description = "Возможный статус задачи {WAITING, IN_PROGRESS, COMPLETED}", required = false, schema = @Schema(implementation = String.class)),
+                    @Parameter(name = "priority", description = "Возможный приоритет задачи {LOW, MEDIUM, HIGH}", required = false, schema = @Schema(implementation = String.class)),
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток задач", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = TaskViewDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "401", description = "Ошибка аутентификации", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "429", description = "Слишком много запросов", content = @Content(schema = @Schema(implementation = String.class))),
+                    @ApiResponse(responseCode = "500", description = "Ошибка на стороне сервера", content = @Content(schema = @Schema(implementation = String.class)))}
 
+    )
+    @GetMapping(value = "/{userId}/perform/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskViewDTO> streamTasksByAssignee(@PathVariable("userId") String userId,
+                                             @RequestParam(name = "status", required = false) TaskStatus status,
+                                             @RequestParam(name = "priority", required = false) PriorityLevel priority) {
+        return reactiveTaskService.streamTasksByAssignee(userId, status, priority);
+    }
 
 
 
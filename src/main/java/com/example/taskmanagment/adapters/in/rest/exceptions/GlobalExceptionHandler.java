@@ -1,8 +1,10 @@
 package com.example.taskmanagment.adapters.in.rest.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -31,6 +33,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication Failed: " + ex.getMessage());
     }
 
+    /**
+     * Обрабатывает исключение "Невалидный токен обновления"
+     * @param ex InvalidRefreshTokenException
+     * @return String
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<String> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex) {
+        String mess = ex.getMessage() == null ? ex.getDefaultText() : ex.getMessage();
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication Failed: " + mess);
+    }
+
+    /**
+     * Обрабатывает исключение "Пул хэширования паролей перегружен"
+     * @param ex PasswordHashingBusyException
+     * @return String
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body("Service unavailable: " + ex.getDefaultText());
+    }
+
     /**
      * Обрабатывает исключение "Отсутствую права доступа"
      * @param ex PermissionDeniedException
@@ -41,6 +66,25 @@ public class GlobalExceptionHandler {
         String mess = ex.getMessage() == null ? ex.getDefaultText() : ex.getMessage();
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Permission denied: " + mess);
     }
+    /**
+     * Обрабатывает исключение "Задача изменена параллельным запросом"
+     * @param ex TaskConflictException
+     * @return String
+     */
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<String> handleTaskConflictException(TaskConflictException ex) {
+        String mess = ex.getMessage() == null ? ex.getDefaultText() : ex.getMessage();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: " + mess);
+    }
+    /**
+     * Обрабатывает исключение "Версия сущности устарела" при сохранении загруженной сущности
+     * @param ex ObjectOptimisticLockingFailureException
+     * @return String
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: " + new TaskConflictException().getDefaultText());
+    }
     /**
      * Обрабатывает исключение "Ошибка валидации"
      * @param ex MethodArgumentNotValidException
@@ -0,0 +1,18 @@
+package com.example.taskmanagment.adapters.in.rest.exceptions;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Исключение выбрасывается, если токен обновления невалиден, уже был использован или его семейство отозвано
+ */
+@Getter
+@NoArgsConstructor
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    private final String defaultText = "Invalid refresh token";
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
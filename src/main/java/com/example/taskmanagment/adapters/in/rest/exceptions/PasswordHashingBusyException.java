@@ -0,0 +1,18 @@
+package com.example.taskmanagment.adapters.in.rest.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Исключение выбрасывается, если пул хэширования паролей занят и очередь заполнена.
+ * Клиенту возвращается 503 с заголовком Retry-After
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final String defaultText = "Too many sign-in requests, try again later";
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
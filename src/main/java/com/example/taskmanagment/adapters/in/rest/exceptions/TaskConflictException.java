@@ -0,0 +1,18 @@
+package com.example.taskmanagment.adapters.in.rest.exceptions;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Исключение выбрасывается если задача была изменена другим запросом после того, как клиент получил её версию
+ */
+@Getter
+@NoArgsConstructor
+public class TaskConflictException extends RuntimeException {
+
+    private final String defaultText = "Task was modified concurrently";
+
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
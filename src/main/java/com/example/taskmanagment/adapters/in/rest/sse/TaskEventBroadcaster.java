@@ -0,0 +1,219 @@
+package com.example.taskmanagment.adapters.in.rest.sse;
+
+import com.example.taskmanagment.application.domain.events.TaskEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Рассылка событий об изменении задач подключённым по SSE клиентам.
+ * У каждого подключения своя очередь на app.sse.queue-capacity событий. Публикующий поток только кладёт событие в очереди
+ * и не ждёт клиентов, отправку выполняет виртуальный поток подключения. Если очередь переполнена, клиент не успевает читать
+ * и отключается: он переподключается и перечитывает списки задач. Раз в app.sse.heartbeat-interval-ms всем отправляется
+ * комментарий, чтобы прокси не закрывали простаивающие соединения, а разорванные обнаруживались.
+ * Метрики: sse.connections (открытые подключения) и sse.dropped (отключённые медленные клиенты).
+ */
+@Slf4j
+@Component
+public class TaskEventBroadcaster {
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxConnectionsPerUser;
+    private final Map<UUID, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 0).factory());
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dropped;
+
+    public TaskEventBroadcaster(ObjectMapper objectMapper,
+                                @Value("${app.sse.timeout}") Duration timeout,
+                                @Value("${app.sse.queue-capacity}") int queueCapacity,
+                                @Value("${app.sse.max-connections-per-user}") int maxConnectionsPerUser,
+                                MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        Gauge.builder("sse.connections", connections, AtomicInteger::get).register(meterRegistry);
+        this.dropped = Counter.builder("sse.dropped").register(meterRegistry);
+    }
+
+    /**
+     * Открывает подключение пользователя. Сверх app.sse.max-connections-per-user закрываются самые старые подключения
+     * @param userId идентификатор пользователя
+     * @return SseEmitter поток событий
+     */
+    public SseEmitter subscribe(UUID userId) {
+        return subscribe(userId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(UUID userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(subscriber));
+
+        connections.incrementAndGet();
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Deque<Subscriber> result = userSubscribers == null ? new ConcurrentLinkedDeque<>() : userSubscribers;
+            result.addLast(subscriber);
+            while (result.size() > maxConnectionsPerUser) {
+                evicted.add(result.pollFirst());
+            }
+            return result;
+        });
+        evicted.forEach(this::close);
+
+        // Первое сообщение сразу отправляет заголовки ответа, не дожидаясь событий
+        enqueue(subscriber, Message.comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Вызывается после коммита транзакции, в которой изменились задачи, или сразу, если транзакции нет
+     * @param event событие с получателями
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskEvent(TaskEvent event) {
+        if (event.recipientIds().stream().noneMatch(subscribers::containsKey)) {
+            return;
+        }
+        Message message;
+        try {
+            // Сериализуется один раз на событие, а не на каждого получателя
+            message = new Message(Long.toString(eventIds.incrementAndGet()), event.payload().getType().name(),
+                    objectMapper.writeValueAsString(event.payload()), null);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize task event", e);
+            return;
+        }
+        for (UUID recipientId : event.recipientIds()) {
+            Deque<Subscriber> userSubscribers = subscribers.get(recipientId);
+            if (userSubscribers != null) {
+                userSubscribers.forEach(subscriber -> enqueue(subscriber, message));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-interval-ms}")
+    public void heartbeat() {
+        Message message = Message.comment("heartbeat");
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> enqueue(subscriber, message)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(this::close));
+        writers.shutdown();
+    }
+
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (subscriber.closed().get()) {
+            return;
+        }
+        if (!subscriber.queue().offer(message)) {
+            dropped.increment();
+            log.debug("Dropping slow SSE subscriber of user {}", subscriber.userId());
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Отправляет накопленные события. Одновременно для подключения работает не больше одного такого цикла
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                Message message;
+                while (!subscriber.closed().get() && (message = subscriber.queue().poll()) != null) {
+                    subscriber.emitter().send(message.toEvent());
+                }
+                subscriber.draining().set(false);
+                // Событие могло прийти между последним poll и сбросом флага
+            } while (!subscriber.queue().isEmpty() && !subscriber.closed().get() && subscriber.draining().compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE subscriber of user {} disconnected", subscriber.userId());
+            remove(subscriber);
+        }
+    }
+
+    /**
+     * Закрытие ответа выполняется в потоке отправки: медленный клиент не должен задерживать публикующий поток
+     */
+    private void close(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            writers.execute(() -> subscriber.emitter().complete());
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed().compareAndSet(false, true)) {
+            return false;
+        }
+        connections.decrementAndGet();
+        subscriber.queue().clear();
+        subscribers.computeIfPresent(subscriber.userId(), (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+        return true;
+    }
+
+    private record Message(String id, String name, String data, String comment) {
+        static Message comment(String comment) {
+            return new Message(null, null, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (comment != null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event().id(id).name(name).data(data);
+        }
+    }
+
+    private record Subscriber(UUID userId,
+                              SseEmitter emitter,
+                              BlockingQueue<Message> queue,
+                              AtomicBoolean draining,
+                              AtomicBoolean closed) {
+        Subscriber(UUID userId, SseEmitter emitter, BlockingQueue<Message> queue) {
+            this(userId, emitter, queue, new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+}
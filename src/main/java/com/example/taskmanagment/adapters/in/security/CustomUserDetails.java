@@ -6,8 +6,21 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
-
-public record CustomUserDetails(User user) implements UserDetails {
+import java.util.UUID;
+
+/**
+ * Аутентифицированный пользователь. Хранит только данные, нужные сервисам, а не сущность User,
+ * поэтому может быть собран из самодостаточного токена без обращения к базе.
+ * @param id идентификатор пользователя
+ * @param email почта пользователя, она же логин
+ * @param name имя пользователя
+ * @param password хэш пароля, null для пользователя из токена
+ */
+public record CustomUserDetails(UUID id, String email, String name, String password) implements UserDetails {
+
+    public static CustomUserDetails from(User user) {
+        return new CustomUserDetails(user.getId(), user.getEmail(), user.getUsername(), user.getPassword());
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -16,12 +29,12 @@ public record CustomUserDetails(User user) implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
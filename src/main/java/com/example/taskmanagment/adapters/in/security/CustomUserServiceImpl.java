@@ -5,14 +5,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserServiceImpl implements UserDetailsService {
     private final UserRepository userRepository;
     @Override
+    @Transactional(readOnly = true)
     public CustomUserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username).map(CustomUserDetails::new)
+        return userRepository.findByEmail(username).map(CustomUserDetails::from)
                 .orElseThrow(() -> new UsernameNotFoundException(username));
     }
 }
@@ -0,0 +1,142 @@
+package com.example.taskmanagment.adapters.in.security;
+
+import com.example.taskmanagment.adapters.in.rest.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Хэширование и проверка паролей в отдельном ограниченном пуле.
+ * BCrypt нагружает процессор, поэтому одновременно выполняется не больше security.password.hashing.threads операций
+ * (по умолчанию - по числу ядер), а при заполненной очереди запрос сразу получает 503 вместо ожидания.
+ * Метрики: executor.* с тегом name=password-hashing (глубина очереди, активные потоки)
+ * и password.hashing с тегом operation (время вместе с ожиданием в очереди).
+ * Пул остаётся на платформенных потоках и при spring.threads.virtual.enabled: работа чисто вычислительная,
+ * а ожидание результата в Future.get виртуальный поток запроса не закрепляет.
+ */
+@Component
+public class PasswordHasher {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long waitTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${security.password.bcrypt-strength}") int strength,
+                          @Value("${security.password.hashing.threads}") int threads,
+                          @Value("${security.password.hashing.queue-capacity}") int queueCapacity,
+                          @Value("${security.password.hashing.wait-timeout-ms}") long waitTimeoutMillis,
+                          @Value("${security.password.hashing.retry-after-seconds}") long retryAfterSeconds,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+        this.encodeTimer = Timer.builder("password.hashing").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected").register(meterRegistry);
+    }
+
+    /**
+     * @param rawPassword пароль
+     * @return String хэш пароля с текущей стоимостью
+     * @throws PasswordHashingBusyException Выбрасывается, если пул перегружен
+     */
+    public String encode(String rawPassword) throws PasswordHashingBusyException {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * @param rawPassword пароль
+     * @param encodedPassword сохранённый хэш
+     * @return true, если пароль совпадает
+     * @throws PasswordHashingBusyException Выбрасывается, если пул перегружен
+     */
+    public boolean matches(String rawPassword, String encodedPassword) throws PasswordHashingBusyException {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Проверка без хэширования: стоимость сохранённого хэша отличается от security.password.bcrypt-strength
+     * @param encodedPassword сохранённый хэш
+     * @return true, если пароль нужно перехэшировать
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1)) != strength;
+        }
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
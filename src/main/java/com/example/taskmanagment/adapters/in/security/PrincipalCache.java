@@ -0,0 +1,82 @@
+package com.example.taskmanagment.adapters.in.security;
+
+import com.example.taskmanagment.application.domain.events.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Кэш аутентифицированных пользователей по email, чтобы JwtFilter не ходил в базу на каждый запрос.
+ * Записи живут не дольше app.security.principal-cache.ttl и сбрасываются по UserChangedEvent после коммита.
+ * Метрики доступны как cache.* с тегом cache=principals.
+ * Кэш асинхронный: сброс во время загрузки удаляет незавершённую загрузку, и её результат в кэш уже не попадёт.
+ */
+@Component
+public class PrincipalCache {
+    private final boolean enabled;
+    private final AsyncCache<String, CustomUserDetails> cache;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.enabled}") boolean enabled,
+                          @Value("${app.security.principal-cache.max-size}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "principals");
+    }
+
+    /**
+     * Внутри ConcurrentHashMap.compute в кэш только кладётся незавершённый CompletableFuture,
+     * а запрос в базу выполняет вызывающий поток уже после этого, поэтому виртуальный поток не закрепляется за несущим.
+     * Одновременные промахи по одному email ждут одну загрузку.
+     * @param email почта пользователя из токена
+     * @param loader загрузка пользователя при промахе
+     * @return CustomUserDetails данные пользователя
+     */
+    public CustomUserDetails get(String email, Function<String, CustomUserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        CompletableFuture<CustomUserDetails> loading = new CompletableFuture<>();
+        CompletableFuture<CustomUserDetails> future = cache.get(email, (key, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(loader.apply(email));
+            } catch (RuntimeException e) {
+                // Завершённая с ошибкой загрузка удаляется из кэша
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Вызывается после коммита транзакции, изменившей пользователя, или сразу, если транзакции нет
+     * @param event событие изменения пользователя
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.synchronous().invalidate(event.email());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanagment.adapters.in.security.dto;
+
+import java.util.UUID;
+
+/**
+ * Данные проверенного токена обновления
+ * @param email почта пользователя
+ * @param familyId семейство токенов
+ * @param tokenId идентификатор (jti) предъявленного токена
+ */
+public record RefreshTokenClaims(String email, UUID familyId, UUID tokenId) {
+}
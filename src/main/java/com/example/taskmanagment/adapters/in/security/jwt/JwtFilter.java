@@ -2,7 +2,9 @@ package com.example.taskmanagment.adapters.in.security.jwt;
 
 import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
 import com.example.taskmanagment.adapters.in.security.CustomUserServiceImpl;
+import com.example.taskmanagment.adapters.in.security.PrincipalCache;
 import com.example.taskmanagment.application.ports.in.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 /**
  * Фильтр, который ищет в каждом запросе данные для аутентификации
  */
@@ -24,6 +27,8 @@ import java.io.IOException;
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final CustomUserServiceImpl customUserService;
+    private final PrincipalCache principalCache;
+    private final RevokedTokenDenylist revokedTokenDenylist;
 
     /**
      * @param request Запрос пользователя
@@ -37,20 +42,40 @@ public class JwtFilter extends OncePerRequestFilter {
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
-        if(token != null && jwtService.validateJwtToken(token)) {
-            setCustomUserDetailsToSecurityContextHolder(token);
+        if(token != null) {
+            jwtService.verifyToken(token)
+                    .filter(this::isAcceptedAccessToken)
+                    .ifPresent(this::setCustomUserDetailsToSecurityContextHolder);
         }
         filterChain.doFilter(request, response);
     }
 
 
     /**
-     * Помещает аутентифицированного пользователя в SecurityContextHolder
-     * @param token Токен аутентификации
+     * Токен обновления не принимается вместо токена аутентификации, токен отозванного семейства отклоняется
+     * @param claims Данные проверенного токена
+     * @return true, если по токену можно аутентифицировать запрос
      */
-    private void setCustomUserDetailsToSecurityContextHolder(String token) {
-        String email = jwtService.getEmailFromToken(token);
-        CustomUserDetails customUserDetails = customUserService.loadUserByUsername(email);
+    private boolean isAcceptedAccessToken(Claims claims) {
+        if (JwtServiceImpl.REFRESH_TOKEN_TYPE.equals(claims.get(JwtServiceImpl.TOKEN_TYPE_CLAIM, String.class))) {
+            return false;
+        }
+        String familyId = claims.get(JwtServiceImpl.FAMILY_ID_CLAIM, String.class);
+        return familyId == null || !revokedTokenDenylist.isRevoked(UUID.fromString(familyId));
+    }
+
+    /**
+     * Помещает аутентифицированного пользователя в SecurityContextHolder.
+     * Самодостаточный токен содержит id и имя пользователя, и пользователь собирается из него без обращения к базе.
+     * Для токенов только с email пользователь берётся из PrincipalCache, в базу запрос идёт только при промахе
+     * @param claims Данные проверенного токена
+     */
+    private void setCustomUserDetailsToSecurityContextHolder(Claims claims) {
+        String email = claims.getSubject();
+        String userId = claims.get(JwtServiceImpl.USER_ID_CLAIM, String.class);
+        CustomUserDetails customUserDetails = userId != null
+                ? new CustomUserDetails(UUID.fromString(userId), email, claims.get(JwtServiceImpl.NAME_CLAIM, String.class), null)
+                : principalCache.get(email, customUserService::loadUserByUsername);
 
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken( customUserDetails,
                 null, customUserDetails.getAuthorities());
@@ -2,11 +2,14 @@ package com.example.taskmanagment.adapters.in.security.jwt;
 
 
 import com.example.taskmanagment.adapters.in.security.dto.JwtAuthenticationDto;
+import com.example.taskmanagment.adapters.in.security.dto.RefreshTokenClaims;
+import com.example.taskmanagment.application.domain.models.RefreshTokenFamily;
+import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.in.JwtService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,6 +18,8 @@ import javax.crypto.SecretKey;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Класс отвечает за работу с JWT токенами: генерацию и извлечение данных.
@@ -22,55 +27,88 @@ import java.util.Date;
 @Slf4j
 @Service
 public class JwtServiceImpl implements JwtService {
+    /**Claim с идентификатором пользователя в самодостаточном токене**/
+    public static final String USER_ID_CLAIM = "uid";
+    /**Claim с именем пользователя в самодостаточном токене**/
+    public static final String NAME_CLAIM = "name";
+    /**Claim с идентификатором семейства токенов обновления, по нему токены отзываются**/
+    public static final String FAMILY_ID_CLAIM = "fid";
+    /**Claim с типом токена: access или refresh**/
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    private static final String ACCESS_TOKEN_TYPE = "access";
+
     @Value("${jwt.token.secret}")
     private String jwtSecret;
 
-    /**Время жизни токена обновления в минутах**/
-    @Value("${jwt.refreshtoken.lifetime}")
-    private Long jwtRefreshTokenLifetime;
-
     /**Время жизни токена аутентификации в минутах**/
     @Value("${jwt.token.lifetime}")
     private Long jwtTokenLifetime;
 
+    /**Максимальное количество уже проверенных токенов в кэше, 0 - без кэша**/
+    @Value("${jwt.verified-cache.max-size}")
+    private long verifiedCacheSize;
+
+    /**Класть ли в токен аутентификации id и имя пользователя, чтобы JwtFilter не обращался к базе**/
+    @Value("${jwt.token.self-contained}")
+    private boolean selfContainedTokens;
+
+    /**Ключ и парсер создаются один раз при старте, а не на каждый токен**/
+    private SecretKey signKey;
+    private JwtVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        verifier = new JwtVerifier(signKey, verifiedCacheSize);
+    }
 
     /**
-     * Создаёт новые данные для аутентификации на основе ключа пользователя
-     * @param email выступает в качестве ключа для пользователя
+     * Создаёт новые данные для аутентификации пользователя
+     * @param user пользователь, email выступает в качестве ключа
+     * @param family семейство токенов обновления: действующий токен и срок действия
      * @return JwtAuthenticationDto возвращает готовый токен аутентификации и обновления
      */
-    public JwtAuthenticationDto generateAuthToken(String email) {
+    public JwtAuthenticationDto generateAuthToken(User user, RefreshTokenFamily family) {
         JwtAuthenticationDto jwtDto = new JwtAuthenticationDto();
-        jwtDto.setToken(generateJwtToken(email));
-        jwtDto.setRefreshToken(generateRefreshToken(email));
+        jwtDto.setToken(generateJwtToken(user, family.getId()));
+        jwtDto.setRefreshToken(generateRefreshToken(user.getEmail(), family));
         return jwtDto;
     }
 
     /**
-     * Создаёт новые данные для аутентификации на основе существующего токена обновления
-     * @param email выступает в качестве ключа для пользователя
-     * @param refreshToken токен обновления
-     * @return JwtAuthenticationDto возвращает готовый токен аутентификации и обновления
+     * Проверяет токен и возвращает его данные за один разбор
+     * @param token Токен
+     * @return Optional<Claims> данные токена или пустой Optional, если токен невалиден
      */
-    public JwtAuthenticationDto refreshBaseToken(String email, String refreshToken) {
-        JwtAuthenticationDto jwtDto = new JwtAuthenticationDto();
-        jwtDto.setToken(generateJwtToken(email));
-        jwtDto.setRefreshToken(refreshToken);
-        return jwtDto;
+    public Optional<Claims> verifyToken(String token) {
+        return verifier.verify(token);
+    }
+
+    /**
+     * Проверяет токен обновления: подпись, срок действия, тип и наличие семейства
+     * @param token Токен обновления
+     * @return Optional<RefreshTokenClaims> данные токена или пустой Optional, если токен невалиден
+     */
+    public Optional<RefreshTokenClaims> verifyRefreshToken(String token) {
+        return verifyToken(token)
+                .filter(claims -> REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)))
+                .filter(claims -> claims.getId() != null && claims.get(FAMILY_ID_CLAIM, String.class) != null)
+                .map(claims -> new RefreshTokenClaims(claims.getSubject(),
+                        UUID.fromString(claims.get(FAMILY_ID_CLAIM, String.class)),
+                        UUID.fromString(claims.getId())));
     }
 
     /**
      * Извлекает из токена email пользователя
      * @param token Токен аутентификации
      * @return (String) Email пользователя
+     * @throws JwtException Выбрасывается, если токен невалиден
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return verifyToken(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     /**
@@ -79,65 +117,48 @@ public class JwtServiceImpl implements JwtService {
      * @return true or false
      */
     public boolean validateJwtToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSignKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return true;
-        } catch (ExpiredJwtException expEx) {
-            log.error("Expired JWT token", expEx);
-        }
-        catch (UnsupportedJwtException expEx) {
-            log.error("Unsupported JWT token", expEx);
-        }
-        catch (MalformedJwtException expEx) {
-            log.error("Malformed JWT token", expEx);
-        } catch (SecurityException expEx) {
-            log.error("Security exception", expEx);
-        }
-        catch (Exception expEx) {
-            log.error("Invalid token", expEx);
-        }
-        return false;
+        return verifyToken(token).isPresent();
     }
 
     /**
      * Генерирует новый JWT токен аутентификации согласно заданным условиям.
-     * @param email - ключевые данные пользователя
+     * В режиме jwt.token.self-contained в токен добавляются id и имя пользователя.
+     * @param user - пользователь
+     * @param familyId - семейство токенов обновления, при его отзыве токен перестаёт приниматься
      * @return (String) JWT токен аутентификации
      */
-    private String generateJwtToken(String email) {
+    private String generateJwtToken(User user, UUID familyId) {
         Date expirationTime = Date.from(LocalDateTime.now().plusMinutes(jwtTokenLifetime).atZone(ZoneId.systemDefault()).toInstant());
-        return Jwts.builder()
-                .subject(email)
-                .expiration(expirationTime)
-                .signWith(getSignKey())
+        JwtBuilder builder = Jwts.builder()
+                .subject(user.getEmail())
+                .claim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN_TYPE)
+                .claim(FAMILY_ID_CLAIM, familyId.toString())
+                .expiration(expirationTime);
+        if (selfContainedTokens && user.getId() != null) {
+            builder.claim(USER_ID_CLAIM, user.getId().toString())
+                    .claim(NAME_CLAIM, user.getUsername());
+        }
+        return builder
+                .signWith(signKey)
                 .compact();
     }
 
     /**
      * Генерирует новый JWT токен обновления согласно заданным условиям.
      * @param email - ключевые данные пользователя
+     * @param family - семейство токенов: jti токена и срок действия берутся из него
      * @return (String) JWT токен обновления
      */
-    private String generateRefreshToken(String email) {
-        Date expirationTime = Date.from(LocalDateTime.now().plusMinutes(jwtRefreshTokenLifetime).atZone(ZoneId.systemDefault()).toInstant());
+    private String generateRefreshToken(String email, RefreshTokenFamily family) {
+        Date expirationTime = Date.from(family.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
         return Jwts.builder()
                 .subject(email)
+                .id(family.getCurrentTokenId().toString())
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .claim(FAMILY_ID_CLAIM, family.getId().toString())
                 .expiration(expirationTime)
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
-
-    /**
-     * Создаёт секретный ключ для генерации токенов
-     * @return SecretKey - секретный ключ
-     */
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -0,0 +1,116 @@
+package com.example.taskmanagment.adapters.in.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.SecurityException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверяет подпись и срок действия JWT токенов.
+ * Парсер с ключом создаётся один раз, а уже проверенные токены хранятся в ограниченном кэше
+ * по SHA-256 от токена до момента exp, поэтому повторный запрос с тем же токеном не разбирает его заново.
+ */
+@Slf4j
+public class JwtVerifier {
+    private final JwtParser parser;
+    /** null, если кэш отключён (размер 0) **/
+    private final Cache<String, Claims> verifiedTokens;
+
+    /**
+     * @param signKey ключ подписи токенов
+     * @param cacheSize максимальное количество проверенных токенов в кэше, 0 - без кэша
+     */
+    public JwtVerifier(SecretKey signKey, long cacheSize) {
+        this.parser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+        this.verifiedTokens = cacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpiration())
+                .build()
+                : null;
+    }
+
+    /**
+     * Разбирает и проверяет токен один раз
+     * @param token Токен
+     * @return Optional<Claims> данные токена или пустой Optional, если токен невалиден или истёк
+     */
+    public Optional<Claims> verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        String key = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Claims> claims = parse(token);
+        claims.filter(verified -> verified.getExpiration() != null)
+                .ifPresent(verified -> verifiedTokens.put(key, verified));
+        return claims;
+    }
+
+    private Optional<Claims> parse(String token) {
+        try {
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException expEx) {
+            log.error("Expired JWT token", expEx);
+        }
+        catch (UnsupportedJwtException expEx) {
+            log.error("Unsupported JWT token", expEx);
+        }
+        catch (MalformedJwtException expEx) {
+            log.error("Malformed JWT token", expEx);
+        } catch (SecurityException expEx) {
+            log.error("Security exception", expEx);
+        }
+        catch (Exception expEx) {
+            log.error("Invalid token", expEx);
+        }
+        return Optional.empty();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Запись живёт ровно до exp токена, чтение и обновление срок не продлевают
+     */
+    private static final class UntilTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            long millisLeft = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.taskmanagment.adapters.in.security.jwt;
+
+import com.example.taskmanagment.application.domain.events.RefreshTokenFamilyRevokedEvent;
+import com.example.taskmanagment.application.ports.out.RefreshTokenRepository;
+import com.example.taskmanagment.application.utils.bloom.UuidBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Список отозванных семейств токенов в памяти. Проверяется в JwtFilter на каждом запросе:
+ * фильтр Блума отвечает "точно нет" для почти всех токенов, точное множество проверяется только при срабатывании фильтра.
+ * Обновляется из таблицы refresh_token_families: раз в jwt.denylist.refresh-interval-ms догружаются новые отзывы,
+ * раз в jwt.denylist.rebuild-interval-ms структура собирается заново, чтобы выбросить истекшие семейства.
+ */
+@Slf4j
+@Component
+public class RevokedTokenDenylist {
+    /** Запас на расхождение часов между экземплярами и длительность транзакций **/
+    private static final Duration OVERLAP = Duration.ofSeconds(30);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expectedSize;
+    private final Duration rebuildInterval;
+
+    /** Не synchronized: запрос в базу под монитором закрепляет виртуальный поток за несущим **/
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    private LocalDateTime loadedSince;
+    private LocalDateTime rebuiltAt;
+
+    public RevokedTokenDenylist(RefreshTokenRepository refreshTokenRepository,
+                                @Value("${jwt.denylist.expected-size}") long expectedSize,
+                                @Value("${jwt.denylist.rebuild-interval-ms}") long rebuildIntervalMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expectedSize = expectedSize;
+        this.rebuildInterval = Duration.ofMillis(rebuildIntervalMillis);
+        this.snapshot = new Snapshot(new UuidBloomFilter(expectedSize, FALSE_POSITIVE_RATE), ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * @param familyId идентификатор семейства из токена
+     * @return true, если семейство отозвано
+     */
+    public boolean isRevoked(UUID familyId) {
+        Snapshot current = snapshot;
+        return current.bloomFilter().mightContain(familyId) && current.revoked().contains(familyId);
+    }
+
+    /**
+     * Вызывается после коммита транзакции, отозвавшей семейство
+     * @param event событие отзыва
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevoked(RefreshTokenFamilyRevokedEvent event) {
+        snapshot.add(event.familyId());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.denylist.refresh-interval-ms}")
+    public void refresh() {
+        refreshLock.lock();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            if (rebuiltAt == null || rebuiltAt.plus(rebuildInterval).isBefore(startedAt)) {
+                Snapshot rebuilt = new Snapshot(new UuidBloomFilter(expectedSize, FALSE_POSITIVE_RATE), ConcurrentHashMap.newKeySet());
+                refreshTokenRepository.findRevokedSince(null).forEach(rebuilt::add);
+                snapshot = rebuilt;
+                rebuiltAt = startedAt;
+            } else {
+                Snapshot current = snapshot;
+                refreshTokenRepository.findRevokedSince(loadedSince).forEach(current::add);
+            }
+            loadedSince = startedAt.minus(OVERLAP);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh revoked token families", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private record Snapshot(UuidBloomFilter bloomFilter, Set<UUID> revoked) {
+        void add(UUID familyId) {
+            revoked.add(familyId);
+            bloomFilter.put(familyId);
+        }
+    }
+}
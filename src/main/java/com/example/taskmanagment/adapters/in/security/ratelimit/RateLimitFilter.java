@@ -0,0 +1,131 @@
+package com.example.taskmanagment.adapters.in.security.ratelimit;
+
+import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ограничение частоты запросов пользователя по группам эндпоинтов.
+ * Стоит после JwtFilter, ключ бакета - id пользователя и группа. Запросы без пользователя и вне групп не ограничиваются.
+ * При превышении возвращается 429 с заголовком Retry-After.
+ * Бакеты хранятся в Caffeine с ограничением размера и удалением неактивных, метрики - cache.* с тегом cache=rate-limit-buckets.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final List<RouteGroup> groups;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final long origin = System.nanoTime();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.groups = properties.getGroups().entrySet().stream()
+                .map(entry -> RouteGroup.of(entry.getKey(), entry.getValue()))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        this.meterRegistry = meterRegistry;
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        UUID userId = enabled ? getUserId() : null;
+        RouteGroup group = userId == null ? null : findGroup(request);
+        if (group != null) {
+            TokenBucket bucket = buckets.get(new BucketKey(userId, group.name()), key -> new TokenBucket());
+            long waitNanos = bucket.tryAcquire(System.nanoTime() - origin, group.interval(), group.tolerance());
+            if (waitNanos > 0) {
+                reject(response, group, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, RouteGroup group, long waitNanos) throws IOException {
+        meterRegistry.counter("rate_limit.rejected", "group", group.name()).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests: retry after " + retryAfterSeconds + " s");
+    }
+
+    private UUID getUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.id();
+        }
+        return null;
+    }
+
+    private RouteGroup findGroup(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (RouteGroup group : groups) {
+            if (group.matches(request.getMethod(), path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private record BucketKey(UUID userId, String group) {
+    }
+
+    private record RouteGroup(String name, List<PathPattern> patterns, Set<String> methods, long interval, long tolerance) {
+        static RouteGroup of(String name, RateLimitProperties.Group group) {
+            if (group.getLimit() <= 0) {
+                throw new IllegalArgumentException("Rate limit group " + name + " must have a positive limit");
+            }
+            List<PathPattern> patterns = group.getPatterns().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            Set<String> methods = group.getMethods().stream()
+                    .map(String::toUpperCase)
+                    .collect(Collectors.toSet());
+            long interval = group.getPeriod().toNanos() / group.getLimit();
+            return new RouteGroup(name, patterns, methods, interval, interval * (group.getLimit() - 1));
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanagment.adapters.in.security.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Настройки ограничения частоты запросов app.rate-limit.*.
+ * Группы проверяются в порядке объявления, запрос относится к первой подходящей.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /** Максимальное количество бакетов (пользователь + группа) в памяти **/
+    private long maxKeys = 1_000_000;
+    /** Бакет удаляется, если к нему не обращались дольше этого времени **/
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+        /** Шаблоны пути, например /tasks/{userId}/created **/
+        private List<String> patterns = new ArrayList<>();
+        /** HTTP методы, пустой список - любые **/
+        private List<String> methods = new ArrayList<>();
+        /** Количество запросов за period, оно же размер пачки **/
+        private long limit;
+        private Duration period = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanagment.adapters.in.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Токен-бакет в форме GCRA: хранится одно число - теоретическое время прихода следующего запроса (TAT).
+ * Запрос пропускается, если TAT опережает текущее время не больше чем на запас burst, и сдвигает TAT на интервал.
+ * Обновление одним CAS, без блокировок.
+ */
+final class TokenBucket {
+    private final AtomicLong theoreticalArrival = new AtomicLong();
+
+    /**
+     * @param now текущее время в наносекундах, монотонно и неотрицательно
+     * @param interval интервал между запросами при равномерной нагрузке (period / limit)
+     * @param tolerance допустимое опережение, interval * (limit - 1) - размер пачки
+     * @return 0, если запрос пропущен, иначе через сколько наносекунд появится токен
+     */
+    long tryAcquire(long now, long interval, long tolerance) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, now);
+            long ahead = arrival - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + interval)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.taskmanagment.adapters.out.persistence;
 
 import com.example.taskmanagment.application.domain.models.Comment;
-import com.example.taskmanagment.application.domain.models.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 public interface CommentJpaRepository extends JpaRepository<Comment, UUID> {
 
-    List<Comment> findAllByTask(Task task);
+    @Override
+    @EntityGraph(Comment.WITH_AUTHOR_AND_TASK_GRAPH)
+    Optional<Comment> findById(UUID id);
 }
@@ -1,13 +1,23 @@
 package com.example.taskmanagment.adapters.out.persistence;
 
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
 import com.example.taskmanagment.application.domain.models.Comment;
-import com.example.taskmanagment.application.domain.models.Task;
+import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.out.CommentRepository;
+import com.example.taskmanagment.application.utils.pagination.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +28,7 @@ import java.util.UUID;
 @Primary
 public class CommentRepositoryJpaImpl implements CommentRepository {
     private final CommentJpaRepository commentJpaRepository;
+    private final EntityManager entityManager;
 
     @Override
     public void save(Comment comment) {
@@ -35,7 +46,53 @@ public class CommentRepositoryJpaImpl implements CommentRepository {
     }
 
     @Override
-    public List<Comment> findAllCommentsByTask(Task task) {
-        return commentJpaRepository.findAllByTask(task);
+    public List<CommentViewDTO> findAllByTask(UUID taskId, int page, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CommentViewDTO> query = cb.createQuery(CommentViewDTO.class);
+        Root<Comment> comment = query.from(Comment.class);
+        selectView(query, comment, cb)
+                .where(cb.equal(comment.get("task").get("id"), taskId))
+                .orderBy(cb.asc(comment.get("createdDate")), cb.asc(comment.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Выборка по индексу (task_id, created_date, id): условие task_id = ? AND (created_date, id) > (?, ?)
+     */
+    @Override
+    public List<CommentViewDTO> findAllByTaskAfter(UUID taskId, PageCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CommentViewDTO> query = cb.createQuery(CommentViewDTO.class);
+        Root<Comment> comment = query.from(Comment.class);
+        Predicate where = cb.equal(comment.get("task").get("id"), taskId);
+        if (cursor != null) {
+            Path<LocalDateTime> createdDate = comment.get("createdDate");
+            Path<UUID> id = comment.get("id");
+            where = cb.and(where, cb.or(
+                    cb.greaterThan(createdDate, cursor.createdDate()),
+                    cb.and(cb.equal(createdDate, cursor.createdDate()), cb.greaterThan(id, cursor.id()))));
+        }
+        selectView(query, comment, cb)
+                .where(where)
+                .orderBy(cb.asc(comment.get("createdDate")), cb.asc(comment.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Выбирает строки сразу в CommentViewDTO: идентификатор задачи берётся из внешнего ключа, задача не соединяется
+     */
+    private CriteriaQuery<CommentViewDTO> selectView(CriteriaQuery<CommentViewDTO> query, Root<Comment> comment, CriteriaBuilder cb) {
+        Join<Comment, User> author = comment.join("author");
+        return query.select(cb.construct(CommentViewDTO.class,
+                comment.get("id"),
+                comment.get("content"),
+                comment.get("createdDate"),
+                author.get("email"),
+                comment.get("task").get("id")));
     }
 }
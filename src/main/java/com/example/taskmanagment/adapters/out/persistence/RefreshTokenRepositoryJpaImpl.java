@@ -0,0 +1,68 @@
+package com.example.taskmanagment.adapters.out.persistence;
+
+import com.example.taskmanagment.application.domain.models.RefreshTokenFamily;
+import com.example.taskmanagment.application.ports.out.RefreshTokenRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenRepositoryJpaImpl implements RefreshTokenRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public void save(RefreshTokenFamily family) {
+        entityManager.persist(family);
+    }
+
+    @Override
+    public boolean rotate(UUID familyId, UUID currentTokenId, UUID newTokenId, LocalDateTime expiresAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<RefreshTokenFamily> update = cb.createCriteriaUpdate(RefreshTokenFamily.class);
+        Root<RefreshTokenFamily> root = update.from(RefreshTokenFamily.class);
+        update.set(root.<UUID>get("currentTokenId"), newTokenId)
+                .set(root.<LocalDateTime>get("expiresAt"), expiresAt)
+                .where(cb.equal(root.get("id"), familyId),
+                        cb.equal(root.get("currentTokenId"), currentTokenId),
+                        cb.isNull(root.get("revokedAt")),
+                        cb.greaterThan(root.get("expiresAt"), LocalDateTime.now()));
+        return entityManager.createQuery(update).executeUpdate() == 1;
+    }
+
+    @Override
+    public boolean revoke(UUID familyId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<RefreshTokenFamily> update = cb.createCriteriaUpdate(RefreshTokenFamily.class);
+        Root<RefreshTokenFamily> root = update.from(RefreshTokenFamily.class);
+        update.set(root.<LocalDateTime>get("revokedAt"), LocalDateTime.now())
+                .where(cb.equal(root.get("id"), familyId),
+                        cb.isNull(root.get("revokedAt")));
+        return entityManager.createQuery(update).executeUpdate() == 1;
+    }
+
+    @Override
+    public List<UUID> findRevokedSince(LocalDateTime since) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<RefreshTokenFamily> root = query.from(RefreshTokenFamily.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(since == null
+                ? cb.isNotNull(root.get("revokedAt"))
+                : cb.greaterThanOrEqualTo(root.get("revokedAt"), since));
+        predicates.add(cb.greaterThan(root.get("expiresAt"), LocalDateTime.now()));
+        query.select(root.get("id"))
+                .where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,13 +1,15 @@
 package com.example.taskmanagment.adapters.out.persistence;
 
 import com.example.taskmanagment.application.domain.models.Task;
-import com.example.taskmanagment.application.domain.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskJpaRepository extends JpaRepository<Task, UUID> {
-    List<Task> findAllByAuthor(User author);
-    List<Task> findAllByAssignee(User user);
+
+    @Override
+    @EntityGraph(Task.WITH_USERS_GRAPH)
+    Optional<Task> findById(UUID id);
 }
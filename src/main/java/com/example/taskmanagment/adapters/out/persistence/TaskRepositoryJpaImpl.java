@@ -1,16 +1,49 @@
 package com.example.taskmanagment.adapters.out.persistence;
 
+import com.example.taskmanagment.application.domain.dto.TaskAccess;
+import com.example.taskmanagment.application.domain.dto.TaskBulkChange;
+import com.example.taskmanagment.application.domain.dto.TaskChanges;
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskReassignment;
+import com.example.taskmanagment.application.domain.dto.TaskStatsDTO;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
 import com.example.taskmanagment.application.domain.models.Task;
 import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.out.TaskRepository;
+import com.example.taskmanagment.application.utils.pagination.PageCursor;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Repository
@@ -18,29 +51,495 @@ import java.util.UUID;
 @Primary
 public class TaskRepositoryJpaImpl implements TaskRepository {
     private final TaskJpaRepository taskJpaRepository;
+    private final EntityManager entityManager;
+
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final int MAX_SEARCH_CANDIDATES = 1000;
+    private static final String AUTHOR_ROLE = "AUTHOR";
 
     @Override
     public void save(Task task) {
         taskJpaRepository.save(task);
     }
 
+    /**
+     * Выполняется в собственной транзакции, чтобы каждая порция пакетного импорта фиксировалась независимо.
+     * После вставки контекст персистентности очищается, чтобы не накапливать сущности между порциями.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveAll(List<Task> tasks) {
+        taskJpaRepository.saveAll(tasks);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
     @Override
     public Optional<Task> findById(UUID id) {
         return taskJpaRepository.findById(id);
     }
 
     @Override
-    public void delete(Task taskToDelete) {
-        taskJpaRepository.delete(taskToDelete);
+    public Optional<TaskViewDTO> findViewById(UUID id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskViewDTO> query = cb.createQuery(TaskViewDTO.class);
+        Root<Task> task = query.from(Task.class);
+        selectView(query, task, cb)
+                .where(cb.equal(task.get("id"), id));
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return taskJpaRepository.existsById(id);
+    }
+
+    @Override
+    public Optional<TaskAccess> findAccessById(UUID id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskAccess> query = cb.createQuery(TaskAccess.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskAccess.class,
+                        task.get("author").get("id"),
+                        task.get("assignee").get("id"),
+                        task.get("version")))
+                .where(cb.equal(task.get("id"), id));
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Участники задачи возвращаются через RETURNING того же UPDATE, без отдельного SELECT
+     */
+    @Override
+    public Optional<TaskAccess> updateStatus(UUID id, UUID userId, Long expectedVersion, TaskStatus status) {
+        StringBuilder sql = new StringBuilder("""
+                UPDATE tasks
+                SET status = :status, updated_at = :updatedAt, version = version + 1
+                WHERE id = :id AND (author_id = :userId OR assignee_id = :userId)
+                """);
+        appendVersionCondition(sql, "version", expectedVersion);
+        sql.append(" RETURNING author_id, assignee_id, version");
+
+        NativeQuery<Object[]> nativeQuery = accessQuery(sql.toString(), id, expectedVersion);
+        nativeQuery.setParameter("userId", userId);
+        nativeQuery.setParameter("status", status.name());
+        return returning(nativeQuery, id)
+                .map(row -> new TaskAccess((UUID) row[0], (UUID) row[1], (Long) row[2]));
+    }
+
+    /**
+     * Прежний исполнитель читается из снимка строки до изменения (previous) в том же UPDATE
+     */
+    @Override
+    public Optional<TaskReassignment> updateAssignee(UUID id, UUID authorId, Long expectedVersion, String assigneeEmail) {
+        StringBuilder sql = new StringBuilder("""
+                UPDATE tasks t
+                SET assignee_id = u.id, updated_at = :updatedAt, version = t.version + 1
+                FROM users u, tasks previous
+                WHERE t.id = :id AND t.author_id = :authorId AND u.email = :assigneeEmail AND previous.id = t.id
+                """);
+        appendVersionCondition(sql, "t.version", expectedVersion);
+        sql.append(" RETURNING t.author_id, previous.assignee_id AS previous_assignee_id, t.assignee_id");
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addScalar("author_id", UUID.class)
+                .addScalar("previous_assignee_id", UUID.class)
+                .addScalar("assignee_id", UUID.class);
+        nativeQuery.setParameter("id", id);
+        nativeQuery.setParameter("authorId", authorId);
+        nativeQuery.setParameter("assigneeEmail", assigneeEmail);
+        nativeQuery.setParameter("updatedAt", LocalDateTime.now());
+        if (expectedVersion != null) {
+            nativeQuery.setParameter("expectedVersion", expectedVersion);
+        }
+        return returning(nativeQuery, id)
+                .map(row -> new TaskReassignment((UUID) row[0], (UUID) row[1], (UUID) row[2]));
+    }
+
+    @Override
+    public Optional<TaskAccess> deleteByIdAndAuthor(UUID id, UUID authorId) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery("""
+                        DELETE FROM tasks
+                        WHERE id = :id AND author_id = :authorId
+                        RETURNING author_id, assignee_id, version""")
+                .unwrap(NativeQuery.class)
+                .addScalar("author_id", UUID.class)
+                .addScalar("assignee_id", UUID.class)
+                .addScalar("version", Long.class);
+        nativeQuery.setParameter("id", id);
+        nativeQuery.setParameter("authorId", authorId);
+        return returning(nativeQuery, id)
+                .map(row -> new TaskAccess((UUID) row[0], (UUID) row[1], (Long) row[2]));
+    }
+
+    @Override
+    public TaskBulkChange deleteAll(TaskFilter filter, Collection<UUID> ids, UUID authorId) {
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> conditions = toSqlConditions(filter, ids, parameters);
+        conditions.add("t.author_id = :userId");
+        parameters.put("userId", authorId);
+        String sql = "DELETE FROM tasks t WHERE " + String.join(" AND ", conditions)
+                + " RETURNING t.id, t.author_id, t.assignee_id, t.assignee_id AS previous_assignee_id";
+        return bulkReturning(sql, parameters);
+    }
+
+    @Override
+    public List<TaskViewDTO> findAll(TaskFilter filter, int page, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskViewDTO> query = cb.createQuery(TaskViewDTO.class);
+        Root<Task> task = query.from(Task.class);
+        selectView(query, task, cb)
+                .where(toPredicates(filter, task, cb))
+                .orderBy(cb.desc(task.get("createdDate")), cb.desc(task.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskViewDTO> findAllAfter(TaskFilter filter, PageCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskViewDTO> query = cb.createQuery(TaskViewDTO.class);
+        Root<Task> task = query.from(Task.class);
+        Predicate where = cb.and(toPredicates(filter, task, cb));
+        if (cursor != null) {
+            where = cb.and(where, afterCursor(cursor, task, cb));
+        }
+        selectView(query, task, cb)
+                .where(where)
+                .orderBy(cb.desc(task.get("createdDate")), cb.desc(task.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
     }
 
     @Override
-    public List<Task> findAllByAuthor(User user) {
-        return taskJpaRepository.findAllByAuthor(user);
+    public TaskStatsDTO countByUser(UUID userId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT role, status, priority, task_count
+                        FROM task_stats
+                        WHERE user_id = :userId AND task_count <> 0""")
+                .setParameter("userId", userId)
+                .getResultList();
+
+        TaskStatsDTO stats = new TaskStatsDTO();
+        for (Object[] row : rows) {
+            TaskStatus status = TaskStatus.valueOf((String) row[1]);
+            PriorityLevel priority = PriorityLevel.valueOf((String) row[2]);
+            long count = ((Number) row[3]).longValue();
+            if (AUTHOR_ROLE.equals(row[0])) {
+                stats.addAuthored(status, priority, count);
+            } else {
+                stats.addAssigned(status, priority, count);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Ищет отдельно среди задач, где пользователь автор, и где исполнитель, чтобы каждая ветка UNION
+     * обслуживалась своим составным GIN-индексом (author_id, search_vector) или (assignee_id, search_vector).
+     * Каждая ветка отдаёт не более MAX_SEARCH_CANDIDATES самых новых совпадений, и ts_rank считается только по ним,
+     * поэтому стоимость запроса не растёт с числом совпадений, а страницы за пределами этого окна пусты.
+     */
+    @Override
+    public List<TaskViewDTO> search(UUID userId, String query, TaskStatus status, PriorityLevel priority, int page, int size) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("query", tsQuery);
+        parameters.put("candidates", MAX_SEARCH_CANDIDATES);
+        String sql = """
+                SELECT t.id, t.title, t.description, t.status, t.priority, a.email AS author_email, s.email AS assignee_email,
+                       t.created_date, t.version
+                FROM (%s UNION %s) found
+                JOIN tasks t ON t.id = found.id
+                JOIN users a ON a.id = t.author_id
+                LEFT JOIN users s ON s.id = t.assignee_id
+                ORDER BY ts_rank(t.search_vector, to_tsquery('simple', :query)) DESC, t.created_date DESC, t.id DESC
+                """.formatted(
+                searchCandidates(TaskFilter.byAuthor(userId, status, priority), parameters),
+                searchCandidates(TaskFilter.byAssignee(userId, status, priority), parameters));
+
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("author_email", String.class)
+                .addScalar("assignee_email", String.class)
+                .addScalar("created_date", LocalDateTime.class)
+                .addScalar("version", Long.class);
+        parameters.forEach(nativeQuery::setParameter);
+        return nativeQuery
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList()
+                .stream()
+                .map(row -> new TaskViewDTO(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        TaskStatus.valueOf((String) row[3]),
+                        PriorityLevel.valueOf((String) row[4]),
+                        (String) row[5],
+                        (String) row[6],
+                        (LocalDateTime) row[7],
+                        (Long) row[8]))
+                .toList();
     }
 
+    /**
+     * Прежние исполнители нужны для рассылки событий, поэтому при смене исполнителя они читаются
+     * из снимка строки до изменения (previous) в том же UPDATE
+     */
     @Override
-    public List<Task> findAllByAssignee(User user) {
-        return taskJpaRepository.findAllByAssignee(user);
+    public TaskBulkChange updateAll(TaskFilter filter, Collection<UUID> ids, UUID userId, TaskChanges changes) {
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> assignments = new ArrayList<>();
+        if (changes.status() != null) {
+            assignments.add("status = :status");
+            parameters.put("status", changes.status().name());
+        }
+        if (changes.priority() != null) {
+            assignments.add("priority = :priority");
+            parameters.put("priority", changes.priority().name());
+        }
+        if (changes.assigneeId() != null) {
+            assignments.add("assignee_id = :assigneeId");
+            parameters.put("assigneeId", changes.assigneeId());
+        }
+        assignments.add("updated_at = :updatedAt");
+        assignments.add("version = t.version + 1");
+        parameters.put("updatedAt", LocalDateTime.now());
+
+        List<String> conditions = toSqlConditions(filter, ids, parameters);
+        conditions.add(changes.requiresAuthor()
+                ? "t.author_id = :userId"
+                : "(t.author_id = :userId OR t.assignee_id = :userId)");
+        parameters.put("userId", userId);
+        boolean reassigns = changes.assigneeId() != null;
+        if (reassigns) {
+            conditions.add("previous.id = t.id");
+        }
+
+        String sql = "UPDATE tasks t SET " + String.join(", ", assignments)
+                + (reassigns ? " FROM tasks previous" : "")
+                + " WHERE " + String.join(" AND ", conditions)
+                + " RETURNING t.id, t.author_id, t.assignee_id, "
+                + (reassigns ? "previous.assignee_id" : "t.assignee_id") + " AS previous_assignee_id";
+        return bulkReturning(sql, parameters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> accessQuery(String sql, UUID id, Long expectedVersion) {
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("author_id", UUID.class)
+                .addScalar("assignee_id", UUID.class)
+                .addScalar("version", Long.class);
+        nativeQuery.setParameter("id", id);
+        nativeQuery.setParameter("updatedAt", LocalDateTime.now());
+        if (expectedVersion != null) {
+            nativeQuery.setParameter("expectedVersion", expectedVersion);
+        }
+        return nativeQuery;
+    }
+
+    private static void appendVersionCondition(StringBuilder sql, String column, Long expectedVersion) {
+        if (expectedVersion != null) {
+            sql.append(" AND ").append(column).append(" = :expectedVersion");
+        }
+    }
+
+    /**
+     * Выполняет UPDATE/DELETE ... RETURNING. Hibernate считает такой запрос выборкой и сам кэш второго уровня не сбрасывает,
+     * поэтому изменённая задача вытесняется из региона tasks по ID, а не весь регион, как при массовых запросах Criteria
+     */
+    private Optional<Object[]> returning(NativeQuery<Object[]> nativeQuery, UUID id) {
+        Optional<Object[]> row = nativeQuery.getResultList().stream().findFirst();
+        if (row.isPresent()) {
+            evictAfterCompletion(List.of(id));
+        }
+        return row;
+    }
+
+    /**
+     * Выполняет пакетный UPDATE/DELETE ... RETURNING t.id, t.author_id, t.assignee_id, previous_assignee_id.
+     * Количество и участники берутся из тех же строк, которые изменил запрос
+     */
+    private TaskBulkChange bulkReturning(String sql, Map<String, Object> parameters) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("author_id", UUID.class)
+                .addScalar("assignee_id", UUID.class)
+                .addScalar("previous_assignee_id", UUID.class);
+        parameters.forEach((name, value) -> {
+            if (value instanceof Collection<?> values) {
+                nativeQuery.setParameterList(name, values);
+            } else {
+                nativeQuery.setParameter(name, value);
+            }
+        });
+
+        List<UUID> changedIds = new ArrayList<>();
+        Set<UUID> participants = new HashSet<>();
+        for (Object[] row : nativeQuery.getResultList()) {
+            changedIds.add((UUID) row[0]);
+            for (int i = 1; i < row.length; i++) {
+                if (row[i] != null) {
+                    participants.add((UUID) row[i]);
+                }
+            }
+        }
+        if (!changedIds.isEmpty()) {
+            evictAfterCompletion(changedIds);
+        }
+        return new TaskBulkChange(changedIds.size(), participants);
+    }
+
+    /**
+     * Вытеснение выполняется после завершения транзакции: до коммита параллельное чтение
+     * загрузило бы в регион старую строку, и она отдавалась бы до истечения ttl
+     */
+    private void evictAfterCompletion(Collection<UUID> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(id -> cache.evict(Task.class, id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ids.forEach(id -> cache.evict(Task.class, id));
+            }
+        });
+    }
+
+    /**
+     * Ветка поиска: совпадения с :query по условиям фильтра, не более :candidates самых новых.
+     * Условия фильтра те же, что в пакетных операциях (toSqlConditions)
+     */
+    private static String searchCandidates(TaskFilter filter, Map<String, Object> parameters) {
+        List<String> conditions = toSqlConditions(filter, null, parameters);
+        conditions.add("t.search_vector @@ to_tsquery('simple', :query)");
+        return "(SELECT t.id FROM tasks t WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY t.created_date DESC, t.id DESC LIMIT :candidates)";
+    }
+
+    /**
+     * Переводит пользовательскую строку в tsquery вида "слово1:* & слово2:*".
+     * В запрос попадают только буквы и цифры, поэтому синтаксис tsquery из ввода пользователя не интерпретируется.
+     */
+    private static String toPrefixTsQuery(String query) {
+        return Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Выбирает строки сразу в TaskViewDTO, соединяя задачу с email автора и исполнителя.
+     * Сущности при этом не создаются и не попадают в контекст персистентности.
+     */
+    private CriteriaQuery<TaskViewDTO> selectView(CriteriaQuery<TaskViewDTO> query, Root<Task> task, CriteriaBuilder cb) {
+        Join<Task, User> author = task.join("author");
+        Join<Task, User> assignee = task.join("assignee", JoinType.LEFT);
+        return query.select(cb.construct(TaskViewDTO.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("description"),
+                task.get("status"),
+                task.get("priority"),
+                author.get("email"),
+                assignee.get("email"),
+                task.get("createdDate"),
+                task.get("version")));
+    }
+
+    /**
+     * Условие (created_date, id) < (?, ?), записанное через OR, так как Criteria API не поддерживает сравнение кортежей
+     */
+    private Predicate afterCursor(PageCursor cursor, Root<Task> task, CriteriaBuilder cb) {
+        Path<LocalDateTime> createdDate = task.get("createdDate");
+        Path<UUID> id = task.get("id");
+        return cb.or(
+                cb.lessThan(createdDate, cursor.createdDate()),
+                cb.and(cb.equal(createdDate, cursor.createdDate()), cb.lessThan(id, cursor.id())));
+    }
+
+    /**
+     * Переводит фильтр в условия WHERE. Сравнение идёт по внешним ключам, поэтому соединение с users не требуется
+     * и запрос обслуживается индексами (author_id, status, priority) и (assignee_id, status, priority),
+     * а курсорная выборка - индексами (author_id, created_date, id) и (assignee_id, created_date, id).
+     */
+    private Predicate[] toPredicates(TaskFilter filter, Root<Task> task, CriteriaBuilder cb) {
+        if (filter == null) {
+            return new Predicate[0];
+        }
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.authorId() != null) {
+            predicates.add(cb.equal(task.get("author").get("id"), filter.authorId()));
+        }
+        if (filter.assigneeId() != null) {
+            predicates.add(cb.equal(task.get("assignee").get("id"), filter.assigneeId()));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(task.get("priority"), filter.priority()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * Те же условия, что в toPredicates, для нативных запросов по таблице tasks с псевдонимом t.
+     * Значения параметров добавляются в parameters
+     */
+    private static List<String> toSqlConditions(TaskFilter filter, Collection<UUID> ids, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (filter != null) {
+            if (filter.authorId() != null) {
+                conditions.add("t.author_id = :filterAuthorId");
+                parameters.put("filterAuthorId", filter.authorId());
+            }
+            if (filter.assigneeId() != null) {
+                conditions.add("t.assignee_id = :filterAssigneeId");
+                parameters.put("filterAssigneeId", filter.assigneeId());
+            }
+            if (filter.status() != null) {
+                conditions.add("t.status = :filterStatus");
+                parameters.put("filterStatus", filter.status().name());
+            }
+            if (filter.priority() != null) {
+                conditions.add("t.priority = :filterPriority");
+                parameters.put("filterPriority", filter.priority().name());
+            }
+        }
+        if (ids != null) {
+            conditions.add("t.id IN (:ids)");
+            parameters.put("ids", ids);
+        }
+        return conditions;
     }
 }
@@ -5,12 +5,15 @@ import com.example.taskmanagment.application.ports.out.UserRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserJpaRepository extends JpaRepository<User, UUID> {
      Optional<User> findByEmail(String email);
      Optional<User> findById(UUID id);
+     List<User> findAllByEmailIn(Collection<String> emails);
 
 
 }
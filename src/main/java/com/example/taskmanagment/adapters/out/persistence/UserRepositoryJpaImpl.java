@@ -2,12 +2,16 @@ package com.example.taskmanagment.adapters.out.persistence;
 
 import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.out.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,15 +22,22 @@ import java.util.UUID;
 public class UserRepositoryJpaImpl implements UserRepository {
 
     private final UserJpaRepository userJpaRepository;
+    private final EntityManager entityManager;
 
     @Override
     public void save(User user) {
         userJpaRepository.save(user);
     }
 
+    /**
+     * Поиск по natural id: email сначала ищется в регионе users-by-email, затем сам пользователь
+     * в регионе users, и только при промахе выполняется запрос в базу.
+     */
     @Override
     public Optional<User> findByEmail(String email) {
-        return userJpaRepository.findByEmail(email);
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
     }
 
     @Override
@@ -34,5 +45,15 @@ public class UserRepositoryJpaImpl implements UserRepository {
         return userJpaRepository.findById(id);
     }
 
+    @Override
+    public List<User> findAllByEmailIn(Collection<String> emails) {
+        return userJpaRepository.findAllByEmailIn(emails);
+    }
+
+    @Override
+    public User getReference(UUID id) {
+        return userJpaRepository.getReferenceById(id);
+    }
+
 
 }
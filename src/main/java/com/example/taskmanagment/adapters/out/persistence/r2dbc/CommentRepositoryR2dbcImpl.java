@@ -0,0 +1,51 @@
+package com.example.taskmanagment.adapters.out.persistence.r2dbc;
+
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import com.example.taskmanagment.application.ports.out.ReactiveCommentRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Чтение комментариев через R2DBC порциями по app.r2dbc.fetch-size
+ */
+@Repository
+public class CommentRepositoryR2dbcImpl implements ReactiveCommentRepository {
+    private static final String SELECT_BY_TASK = """
+            SELECT c.id, c.content, c.created_date, u.email AS author_email, c.task_id
+            FROM comments c
+                     JOIN users u ON u.id = c.user_id
+            WHERE c.task_id = :taskId
+            ORDER BY c.created_date, c.id""";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public CommentRepositoryR2dbcImpl(DatabaseClient databaseClient, @Value("${app.r2dbc.fetch-size}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Flux<CommentViewDTO> findAllByTask(UUID taskId) {
+        return databaseClient.sql(SELECT_BY_TASK)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("taskId", taskId)
+                .map(CommentRepositoryR2dbcImpl::toView)
+                .all();
+    }
+
+    private static CommentViewDTO toView(Readable row) {
+        return new CommentViewDTO(
+                row.get("id", UUID.class),
+                row.get("content", String.class),
+                row.get("created_date", LocalDateTime.class),
+                row.get("author_email", String.class),
+                row.get("task_id", UUID.class));
+    }
+}
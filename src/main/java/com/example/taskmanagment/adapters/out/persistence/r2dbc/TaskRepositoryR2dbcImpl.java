@@ -0,0 +1,90 @@
+package com.example.taskmanagment.adapters.out.persistence.r2dbc;
+
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.ports.out.ReactiveTaskRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Чтение задач через R2DBC. Строки читаются порциями по app.r2dbc.fetch-size через курсор,
+ * следующая порция запрашивается только когда подписчик обработал предыдущую.
+ */
+@Repository
+public class TaskRepositoryR2dbcImpl implements ReactiveTaskRepository {
+    private static final String SELECT_VIEW = """
+            SELECT t.id, t.title, t.description, t.status, t.priority, a.email AS author_email,
+                   e.email AS assignee_email, t.created_date, t.version
+            FROM tasks t
+                     JOIN users a ON a.id = t.author_id
+                     LEFT JOIN users e ON e.id = t.assignee_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public TaskRepositoryR2dbcImpl(DatabaseClient databaseClient, @Value("${app.r2dbc.fetch-size}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Выборка по индексам (author_id, created_date, id) и (assignee_id, created_date, id)
+     */
+    @Override
+    public Flux<TaskViewDTO> findAll(TaskFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (filter.authorId() != null) {
+            conditions.add("t.author_id = :authorId");
+            parameters.put("authorId", filter.authorId());
+        }
+        if (filter.assigneeId() != null) {
+            conditions.add("t.assignee_id = :assigneeId");
+            parameters.put("assigneeId", filter.assigneeId());
+        }
+        if (filter.status() != null) {
+            conditions.add("t.status = :status");
+            parameters.put("status", filter.status().name());
+        }
+        if (filter.priority() != null) {
+            conditions.add("t.priority = :priority");
+            parameters.put("priority", filter.priority().name());
+        }
+        String sql = SELECT_VIEW
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY t.created_date DESC, t.id DESC";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.map(TaskRepositoryR2dbcImpl::toView).all();
+    }
+
+    private static TaskViewDTO toView(Readable row) {
+        return new TaskViewDTO(
+                row.get("id", UUID.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                PriorityLevel.valueOf(row.get("priority", String.class)),
+                row.get("author_email", String.class),
+                row.get("assignee_email", String.class),
+                row.get("created_date", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanagment.adapters.out.persistence.routing;
+
+/**
+ * Пул соединений, в который направляется транзакция
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,51 @@
+package com.example.taskmanagment.adapters.out.persistence.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Направляет транзакции @Transactional(readOnly = true) в пул реплики, остальные - в пул основной базы.
+ * Чтение уходит на основную базу, если отставание реплики больше допустимого или пользователь недавно
+ * что-то изменял (read-your-writes).
+ * <p>
+ * Должен быть обёрнут в LazyConnectionDataSourceProxy: соединение берётся при первом запросе,
+ * когда признак readOnly транзакции уже выставлен.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Пишущая транзакция: следующие чтения этого пользователя идут на основную базу
+            if (username != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                writesTracker.recordWrite(username);
+            }
+            return DataSourceRole.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable() || (username != null && writesTracker.hasRecentWrite(username))) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.taskmanagment.adapters.out.persistence.routing;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Запоминает время последней пишущей транзакции пользователя. В течение sticky-window после неё
+ * чтения этого пользователя идут на основную базу, чтобы он видел свои изменения.
+ * Состояние хранится в памяти экземпляра приложения.
+ */
+public class ReadYourWritesTracker {
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long stickyWindowNanos;
+
+    public ReadYourWritesTracker(long stickyWindowMillis) {
+        this.stickyWindowNanos = stickyWindowMillis * 1_000_000;
+    }
+
+    public void recordWrite(String username) {
+        lastWriteNanos.put(username, System.nanoTime());
+    }
+
+    public boolean hasRecentWrite(String username) {
+        Long writtenAt = lastWriteNanos.get(username);
+        return writtenAt != null && System.nanoTime() - writtenAt < stickyWindowNanos;
+    }
+
+    /**
+     * Удаляет устаревшие записи, чтобы карта не росла за счёт пользователей, которые больше не читают
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.sticky-window-ms}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= stickyWindowNanos);
+    }
+}
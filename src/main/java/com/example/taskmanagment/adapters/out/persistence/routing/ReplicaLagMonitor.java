@@ -0,0 +1,58 @@
+package com.example.taskmanagment.adapters.out.persistence.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Периодически измеряет отставание реплики PostgreSQL. Пока отставание больше допустимого
+ * или реплика недоступна, чтение выполняется на основной базе.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    /**
+     * Если реплика применила всё полученное WAL, отставание равно 0. Иначе - время с момента
+     * последней применённой транзакции. Для базы не в режиме восстановления отставание тоже 0.
+     * Если приёмник WAL не в состоянии streaming (соединение с основной базой потеряно), новое WAL не приходит
+     * и полученное совпадает с применённым, поэтому такая реплика считается отстающей (NULL).
+     * Поле status в pg_stat_wal_receiver видно только ролям с pg_read_all_stats (например, pg_monitor).
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT)
+                   END""";
+
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private volatile long lagMillis = Long.MAX_VALUE;
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMillis) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms}")
+    public void checkLag() {
+        try {
+            Long lag = replica.queryForObject(LAG_QUERY, Long.class);
+            lagMillis = lag == null ? Long.MAX_VALUE : lag;
+        } catch (DataAccessException e) {
+            log.warn("Replica lag check failed, reads go to primary: {}", e.getMessage());
+            lagMillis = Long.MAX_VALUE;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return lagMillis <= maxLagMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
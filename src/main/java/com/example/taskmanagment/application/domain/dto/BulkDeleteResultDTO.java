@@ -0,0 +1,16 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат пакетного удаления задач
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkDeleteResultDTO {
+    /** Количество удалённых задач **/
+    private int deleted;
+}
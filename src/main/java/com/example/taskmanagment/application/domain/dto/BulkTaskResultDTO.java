@@ -0,0 +1,25 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Результат создания одной задачи из пакетного запроса
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class BulkTaskResultDTO {
+    /** Порядковый номер задачи в запросе **/
+    private int index;
+    /** Идентификатор созданной задачи. Равен null, если задача не создана **/
+    private UUID id;
+    private boolean created;
+    /** Причина, по которой задача не создана **/
+    private String error;
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат пакетного изменения задач
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkUpdateResultDTO {
+    /** Количество изменённых задач **/
+    private int updated;
+}
@@ -0,0 +1,20 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Страница ленты с курсорной пагинацией
+ * @param <T> тип элементов страницы
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPageDTO<T> {
+    private List<T> items;
+    /** Курсор следующей страницы. Равен null, если страница последняя **/
+    private String nextCursor;
+}
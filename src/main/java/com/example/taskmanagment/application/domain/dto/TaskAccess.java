@@ -0,0 +1,20 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import java.util.UUID;
+
+/**
+ * Данные задачи, необходимые для объяснения, почему условное изменение не затронуло ни одной строки
+ * @param authorId идентификатор автора
+ * @param assigneeId идентификатор исполнителя или null
+ * @param version текущая версия задачи
+ */
+public record TaskAccess(UUID authorId, UUID assigneeId, Long version) {
+
+    public boolean isAuthor(UUID userId) {
+        return authorId.equals(userId);
+    }
+
+    public boolean isAssignee(UUID userId) {
+        return userId.equals(assigneeId);
+    }
+}
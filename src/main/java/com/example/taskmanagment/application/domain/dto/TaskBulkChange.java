@@ -0,0 +1,12 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Результат пакетного изменения или удаления задач, полученный из того же запроса
+ * @param count количество затронутых задач
+ * @param participantIds авторы, исполнители и прежние исполнители затронутых задач без повторов
+ */
+public record TaskBulkChange(int count, Set<UUID> participantIds) {
+}
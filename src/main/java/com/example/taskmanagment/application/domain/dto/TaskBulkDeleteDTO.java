@@ -0,0 +1,23 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Запрос на пакетное удаление задач. Задачи выбираются списком ID и/или фильтром.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class TaskBulkDeleteDTO {
+    /** Идентификаторы удаляемых задач **/
+    private List<UUID> ids;
+    /** Условия выборки удаляемых задач **/
+    private TaskFilter filter;
+}
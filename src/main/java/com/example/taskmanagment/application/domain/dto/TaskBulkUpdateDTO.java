@@ -0,0 +1,30 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Запрос на пакетное изменение задач. Задачи выбираются списком ID и/или фильтром,
+ * а поля status, priority и assigneeEmail, не равные null, записываются во все выбранные задачи.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class TaskBulkUpdateDTO {
+    /** Идентификаторы изменяемых задач **/
+    private List<UUID> ids;
+    /** Условия выборки изменяемых задач **/
+    private TaskFilter filter;
+
+    private TaskStatus status;
+    private PriorityLevel priority;
+    private String assigneeEmail;
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+
+import java.util.UUID;
+
+/**
+ * Новые значения полей задачи для пакетного изменения. Поля, равные null, не изменяются.
+ * @param status новый статус
+ * @param priority новый приоритет
+ * @param assigneeId идентификатор нового исполнителя
+ */
+public record TaskChanges(TaskStatus status, PriorityLevel priority, UUID assigneeId) {
+
+    public boolean isEmpty() {
+        return status == null && priority == null && assigneeId == null;
+    }
+
+    /**
+     * Статус может менять автор или исполнитель задачи, приоритет и исполнителя - только автор
+     */
+    public boolean requiresAuthor() {
+        return priority != null || assigneeId != null;
+    }
+}
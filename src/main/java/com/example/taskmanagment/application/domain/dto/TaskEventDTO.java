@@ -0,0 +1,28 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import com.example.taskmanagment.application.domain.enums.TaskEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Данные события об изменении задач, которые получает клиент. Заполнены только поля, относящиеся к типу события
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDTO {
+    private TaskEventType type;
+    private UUID taskId;
+    /** Задача после изменения. Для удаления и пакетных операций не передаётся **/
+    private TaskViewDTO task;
+    private CommentViewDTO comment;
+    /** Количество задач в пакетной операции **/
+    private Integer count;
+}
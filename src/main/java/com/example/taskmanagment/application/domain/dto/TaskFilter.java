@@ -0,0 +1,24 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+
+import java.util.UUID;
+
+/**
+ * Условия выборки задач. Поля, равные null, в фильтрации не участвуют.
+ * @param authorId идентификатор автора задачи
+ * @param assigneeId идентификатор исполнителя задачи
+ * @param status статус задачи
+ * @param priority приоритет задачи
+ */
+public record TaskFilter(UUID authorId, UUID assigneeId, TaskStatus status, PriorityLevel priority) {
+
+    public static TaskFilter byAuthor(UUID authorId, TaskStatus status, PriorityLevel priority) {
+        return new TaskFilter(authorId, null, status, priority);
+    }
+
+    public static TaskFilter byAssignee(UUID assigneeId, TaskStatus status, PriorityLevel priority) {
+        return new TaskFilter(null, assigneeId, status, priority);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import java.util.UUID;
+
+/**
+ * Участники задачи до и после смены исполнителя: событие получают и прежний, и новый исполнитель
+ * @param authorId идентификатор автора
+ * @param previousAssigneeId идентификатор прежнего исполнителя или null
+ * @param assigneeId идентификатор нового исполнителя
+ */
+public record TaskReassignment(UUID authorId, UUID previousAssigneeId, UUID assigneeId) {
+}
@@ -0,0 +1,35 @@
+package com.example.taskmanagment.application.domain.dto;
+
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Количество задач пользователя по статусу и приоритету
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TaskStatsDTO {
+    /** Задачи, созданные пользователем **/
+    private Map<TaskStatus, Map<PriorityLevel, Long>> authored = new EnumMap<>(TaskStatus.class);
+    /** Задачи, исполняемые пользователем **/
+    private Map<TaskStatus, Map<PriorityLevel, Long>> assigned = new EnumMap<>(TaskStatus.class);
+    private long authoredTotal;
+    private long assignedTotal;
+
+    public void addAuthored(TaskStatus status, PriorityLevel priority, long count) {
+        authored.computeIfAbsent(status, key -> new EnumMap<>(PriorityLevel.class)).merge(priority, count, Long::sum);
+        authoredTotal += count;
+    }
+
+    public void addAssigned(TaskStatus status, PriorityLevel priority, long count) {
+        assigned.computeIfAbsent(status, key -> new EnumMap<>(PriorityLevel.class)).merge(priority, count, Long::sum);
+        assignedTotal += count;
+    }
+}
@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -23,5 +24,8 @@ public class TaskViewDTO {
     private PriorityLevel priority;
     private String authorEmail;
     private String assigneeEmail;
+    private LocalDateTime createdDate;
+    /** Версия задачи. Передаётся обратно при изменении, чтобы не перезаписать чужие изменения **/
+    private Long version;
 
 }
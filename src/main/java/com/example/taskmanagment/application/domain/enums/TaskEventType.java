@@ -0,0 +1,17 @@
+package com.example.taskmanagment.application.domain.enums;
+
+/**
+ * Тип события об изменении задач, отправляемого участникам задачи
+ */
+public enum TaskEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    /** Сменился исполнитель. Получают автор, прежний и новый исполнитель **/
+    TASK_REASSIGNED,
+    TASK_DELETED,
+    COMMENT_CREATED,
+    /** Пакетные операции передают только количество задач, клиент перечитывает списки **/
+    TASKS_BULK_CREATED,
+    TASKS_BULK_UPDATED,
+    TASKS_BULK_DELETED
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanagment.application.domain.events;
+
+import java.util.UUID;
+
+/**
+ * Публикуется при отзыве семейства токенов обновления (выход или повторное использование токена).
+ * По нему семейство сразу попадает в список отозванных на этом экземпляре, не дожидаясь обновления из базы.
+ * @param familyId идентификатор семейства
+ */
+public record RefreshTokenFamilyRevokedEvent(UUID familyId) {
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanagment.application.domain.events;
+
+import com.example.taskmanagment.application.domain.dto.TaskEventDTO;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Публикуется при создании, изменении и удалении задач и при новых комментариях.
+ * Доставляется подписчикам после коммита транзакции.
+ * @param recipientIds пользователи, которым нужно отправить событие: авторы и исполнители затронутых задач
+ * @param payload данные события
+ */
+public record TaskEvent(Set<UUID> recipientIds, TaskEventDTO payload) {
+}
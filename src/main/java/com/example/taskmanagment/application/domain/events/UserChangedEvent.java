@@ -0,0 +1,9 @@
+package com.example.taskmanagment.application.domain.events;
+
+/**
+ * Публикуется при создании или изменении пользователя.
+ * По нему сбрасываются закэшированные данные пользователя, например principal в JwtFilter.
+ * @param email почта изменённого пользователя
+ */
+public record UserChangedEvent(String email) {
+}
@@ -1,7 +1,10 @@
 package com.example.taskmanagment.application.domain.models;
 
+import com.example.taskmanagment.application.utils.ids.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -12,11 +15,18 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedEntityGraph(name = Comment.WITH_AUTHOR_AND_TASK_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode(value = "task", subgraph = "task")
+}, subgraphs = @NamedSubgraph(name = "task", attributeNodes = @NamedAttributeNode("author")))
 @Table(name = "comments")
 public class Comment {
+    /** План загрузки комментария вместе с автором, задачей и автором задачи для проверки прав **/
+    public static final String WITH_AUTHOR_AND_TASK_GRAPH = "Comment.withAuthorAndTask";
+
     @Id
     @Column
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false, length = 2048)
@@ -26,12 +36,13 @@ public class Comment {
     @Temporal(TemporalType.TIMESTAMP)
     private LocalDateTime createdDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", referencedColumnName = "id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Task task;
 
 
@@ -0,0 +1,47 @@
+package com.example.taskmanagment.application.domain.models;
+
+import com.example.taskmanagment.application.utils.ids.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Семейство токенов обновления одного входа пользователя.
+ * Действителен только последний выданный токен семейства (currentTokenId), предыдущие после ротации отклоняются.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "refresh_token_families")
+public class RefreshTokenFamily {
+
+    @Id
+    @Column
+    @UuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
+    private User user;
+
+    /** Идентификатор (jti) действующего токена обновления **/
+    @Column(nullable = false)
+    private UUID currentTokenId;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime createdDate;
+
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime expiresAt;
+
+    @Column
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime revokedAt;
+}
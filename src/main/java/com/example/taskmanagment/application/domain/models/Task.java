@@ -2,6 +2,7 @@ package com.example.taskmanagment.application.domain.models;
 
 import com.example.taskmanagment.application.domain.enums.PriorityLevel;
 import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.utils.ids.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,17 +11,26 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Задачи кэшируются во втором уровне, только если app.cache.tasks.enabled=true: регион подключает SecondLevelCacheConfig
+ */
 @Entity
 @Getter
 @Setter
 @AllArgsConstructor
 @Builder
+@NamedEntityGraph(name = Task.WITH_USERS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("assignee")
+})
 @Table(name = "tasks")
 public class Task {
+    /** План загрузки задачи вместе с автором и исполнителем одним запросом **/
+    public static final String WITH_USERS_GRAPH = "Task.withUsers";
 
     @Id
     @Column
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column
@@ -45,16 +55,22 @@ public class Task {
     @Temporal(TemporalType.TIMESTAMP)
     private LocalDateTime updatedAt;
 
+    /** Версия для оптимистической блокировки. Увеличивается при каждом изменении задачи **/
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
-    @ManyToOne
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", referencedColumnName = "id", nullable = false)
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id", referencedColumnName = "id")
     private User assignee;
 
-    @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
+    /** Комментарии удаляются вместе с задачей на стороне базы данных (ON DELETE CASCADE на comments.task_id) **/
+    @OneToMany(mappedBy = "task")
     private List<Comment> comments;
 
 
@@ -1,9 +1,14 @@
 package com.example.taskmanagment.application.domain.models;
 
+import com.example.taskmanagment.application.utils.ids.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,19 +21,24 @@ import java.util.UUID;
 @Setter
 @AllArgsConstructor
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
 
     @Id
     @Column
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column
     @Size(min = 3, max = 30)
     private String username;
 
+    /** Natural id: поиск по email идёт через кэш второго уровня **/
     @Email
     @Size(max = 60)
+    @NaturalId
     @Column(unique = true)
     private String email;
 
@@ -2,6 +2,7 @@ package com.example.taskmanagment.application.ports.in;
 
 import com.example.taskmanagment.application.domain.dto.CommentUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import com.example.taskmanagment.application.domain.dto.CursorPageDTO;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -14,5 +15,9 @@ public interface CommentService {
 
     void delete(String commentId);
 
+    @Transactional(readOnly = true)
     List<CommentViewDTO> getCommentsByTask(String taskId, String page, String size);
+
+    @Transactional(readOnly = true)
+    CursorPageDTO<CommentViewDTO> getCommentPageByTask(String taskId, String cursor, String size);
 }
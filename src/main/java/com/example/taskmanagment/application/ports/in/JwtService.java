@@ -1,14 +1,21 @@
 package com.example.taskmanagment.application.ports.in;
 
 import com.example.taskmanagment.adapters.in.security.dto.JwtAuthenticationDto;
+import com.example.taskmanagment.adapters.in.security.dto.RefreshTokenClaims;
+import com.example.taskmanagment.application.domain.models.RefreshTokenFamily;
+import com.example.taskmanagment.application.domain.models.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 
 
 public interface JwtService {
-    public JwtAuthenticationDto generateAuthToken(String email);
-    public JwtAuthenticationDto refreshBaseToken(String email, String refreshToken);
+    public JwtAuthenticationDto generateAuthToken(User user, RefreshTokenFamily family);
     public String getEmailFromToken(String token);
+    public Optional<Claims> verifyToken(String token);
+    public Optional<RefreshTokenClaims> verifyRefreshToken(String token);
 
     @Transactional(readOnly = true)
     public boolean validateJwtToken(String token);
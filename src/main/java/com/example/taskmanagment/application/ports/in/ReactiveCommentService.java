@@ -0,0 +1,12 @@
+package com.example.taskmanagment.application.ports.in;
+
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import reactor.core.publisher.Flux;
+
+/**
+ * Потоковое чтение комментариев. Без @Transactional: транзакции JPA к реактивным потокам не применяются
+ */
+public interface ReactiveCommentService {
+
+    Flux<CommentViewDTO> streamCommentsByTask(String taskId);
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanagment.application.ports.in;
+
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import reactor.core.publisher.Flux;
+
+/**
+ * Потоковое чтение задач. Без @Transactional: транзакции JPA к реактивным потокам не применяются
+ */
+public interface ReactiveTaskService {
+
+    Flux<TaskViewDTO> streamTasksByAuthor(String userId, TaskStatus status, PriorityLevel priority);
+
+    Flux<TaskViewDTO> streamTasksByAssignee(String userId, TaskStatus status, PriorityLevel priority);
+}
@@ -3,10 +3,18 @@ package com.example.taskmanagment.application.ports.in;
 import com.example.taskmanagment.adapters.in.rest.exceptions.PermissionDeniedException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.TaskNotFoundException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.UserNotFoundException;
+import com.example.taskmanagment.application.domain.dto.BulkDeleteResultDTO;
+import com.example.taskmanagment.application.domain.dto.BulkTaskResultDTO;
+import com.example.taskmanagment.application.domain.dto.BulkUpdateResultDTO;
+import com.example.taskmanagment.application.domain.dto.CursorPageDTO;
+import com.example.taskmanagment.application.domain.dto.TaskBulkDeleteDTO;
+import com.example.taskmanagment.application.domain.dto.TaskBulkUpdateDTO;
+import com.example.taskmanagment.application.domain.dto.TaskStatsDTO;
 import com.example.taskmanagment.application.domain.dto.TaskUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
 import com.example.taskmanagment.application.domain.enums.PriorityLevel;
 import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -16,16 +24,37 @@ public interface TaskService {
 
     void createTask(TaskUpdateDTO task);
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    List<BulkTaskResultDTO> createTasks(List<TaskUpdateDTO> tasks);
+
+    @Transactional(readOnly = true)
     TaskViewDTO getTaskById(String id) throws TaskNotFoundException;
 
     TaskViewDTO updateTask(String taskId, TaskUpdateDTO task) throws TaskNotFoundException, UserNotFoundException, PermissionDeniedException;
 
     void deleteTask(String taskId) throws PermissionDeniedException;
 
-    TaskViewDTO changeStatus(String taskId, TaskStatus newStatus);
+    BulkDeleteResultDTO deleteTasks(TaskBulkDeleteDTO delete);
+
+    TaskViewDTO changeStatus(String taskId, TaskStatus newStatus, Long expectedVersion);
+
+    TaskViewDTO changeAssignee(String taskId, String assigneeEmail, Long expectedVersion);
 
-    TaskViewDTO changeAssignee(String taskId, String assigneeEmail);
+    BulkUpdateResultDTO updateTasks(TaskBulkUpdateDTO update);
 
+    @Transactional(readOnly = true)
     List<TaskViewDTO> getTaskByAuthor(String userId, TaskStatus status, PriorityLevel priority, String page, String size);
+    @Transactional(readOnly = true)
     List<TaskViewDTO> getTaskByAssignee(String userId, TaskStatus status, PriorityLevel priority, String page, String size);
+
+    @Transactional(readOnly = true)
+    CursorPageDTO<TaskViewDTO> getTaskPageByAuthor(String userId, TaskStatus status, PriorityLevel priority, String cursor, String size);
+    @Transactional(readOnly = true)
+    CursorPageDTO<TaskViewDTO> getTaskPageByAssignee(String userId, TaskStatus status, PriorityLevel priority, String cursor, String size);
+
+    @Transactional(readOnly = true)
+    TaskStatsDTO getTaskStats();
+
+    @Transactional(readOnly = true)
+    List<TaskViewDTO> searchTasks(String query, TaskStatus status, PriorityLevel priority, String page, String size);
 }
@@ -1,11 +1,13 @@
 package com.example.taskmanagment.application.ports.in;
 
+import com.example.taskmanagment.adapters.in.rest.exceptions.InvalidRefreshTokenException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.UserNotFoundException;
 import com.example.taskmanagment.adapters.in.security.dto.JwtAuthenticationDto;
 import com.example.taskmanagment.adapters.in.security.dto.RefreshTokenDto;
 import com.example.taskmanagment.adapters.in.security.dto.UserCredentialsDto;
 import com.example.taskmanagment.application.domain.dto.UserDto;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.naming.AuthenticationException;
@@ -13,14 +15,27 @@ import javax.naming.AuthenticationException;
 
 @Transactional
 public interface UserService {
+    /**
+     * BCrypt выполняется без открытой транзакции, чтобы ожидание пула хэширования не удерживало соединение с базой.
+     * Транзакции открываются внутри метода: короткая на чтение пользователя и короткая на запись
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     JwtAuthenticationDto signIn(UserCredentialsDto userCredentialsDto) throws AuthenticationException;
 
+    /** Отзыв семейства при повторном использовании токена должен сохраниться, несмотря на исключение **/
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
     JwtAuthenticationDto refreshToken(RefreshTokenDto refreshTokenDto);
 
+    void logout(RefreshTokenDto refreshTokenDto);
+
+    /** Как и signIn, хэширует пароль вне транзакции **/
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     void createUser(UserCredentialsDto user) throws AuthenticationException;
 
+    @Transactional(readOnly = true)
     UserDto getUserByEmail(String email) throws UserNotFoundException;
 
+    @Transactional(readOnly = true)
     UserDto getUserById(String id) throws UserNotFoundException;
 
 }
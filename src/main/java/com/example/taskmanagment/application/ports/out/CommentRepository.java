@@ -1,9 +1,9 @@
 package com.example.taskmanagment.application.ports.out;
 
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
 import com.example.taskmanagment.application.domain.models.Comment;
-import com.example.taskmanagment.application.domain.models.Task;
+import com.example.taskmanagment.application.utils.pagination.PageCursor;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,5 +15,21 @@ public interface CommentRepository {
 
     void delete(Comment comment);
 
-    List<Comment> findAllCommentsByTask(Task task);
+    /**
+     * Возвращает одну страницу комментариев задачи в порядке (createdDate, id) по возрастанию
+     * @param taskId идентификатор задачи
+     * @param page номер страницы, начиная с 0
+     * @param size размер страницы
+     * @return List<CommentViewDTO> комментарии страницы в виде DTO-отображений
+     */
+    List<CommentViewDTO> findAllByTask(UUID taskId, int page, int size);
+
+    /**
+     * Возвращает комментарии задачи, расположенные строго после курсора в порядке (createdDate, id) по возрастанию
+     * @param taskId идентификатор задачи
+     * @param cursor позиция последнего комментария предыдущей страницы или null для первой страницы
+     * @param limit максимальное количество комментариев
+     * @return List<CommentViewDTO> комментарии страницы в виде DTO-отображений
+     */
+    List<CommentViewDTO> findAllByTaskAfter(UUID taskId, PageCursor cursor, int limit);
 }
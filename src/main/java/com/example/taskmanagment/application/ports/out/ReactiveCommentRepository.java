@@ -0,0 +1,19 @@
+package com.example.taskmanagment.application.ports.out;
+
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Неблокирующее чтение комментариев. Строки выбираются из базы по мере запроса подписчиком (backpressure).
+ */
+public interface ReactiveCommentRepository {
+
+    /**
+     * Возвращает все комментарии задачи в порядке (createdDate, id) по возрастанию
+     * @param taskId идентификатор задачи
+     * @return Flux<CommentViewDTO> комментарии в виде DTO-отображений
+     */
+    Flux<CommentViewDTO> findAllByTask(UUID taskId);
+}
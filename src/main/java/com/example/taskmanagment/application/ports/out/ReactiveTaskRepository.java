@@ -0,0 +1,19 @@
+package com.example.taskmanagment.application.ports.out;
+
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import reactor.core.publisher.Flux;
+
+/**
+ * Неблокирующее чтение задач. Строки выбираются из базы по мере запроса подписчиком (backpressure),
+ * поток не удерживается на время ожидания базы или медленного клиента.
+ */
+public interface ReactiveTaskRepository {
+
+    /**
+     * Возвращает все задачи, удовлетворяющие фильтру, в порядке (createdDate, id) по убыванию
+     * @param filter условия выборки
+     * @return Flux<TaskViewDTO> задачи в виде DTO-отображений
+     */
+    Flux<TaskViewDTO> findAll(TaskFilter filter);
+}
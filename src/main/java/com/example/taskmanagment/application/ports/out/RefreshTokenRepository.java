@@ -0,0 +1,33 @@
+package com.example.taskmanagment.application.ports.out;
+
+import com.example.taskmanagment.application.domain.models.RefreshTokenFamily;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface RefreshTokenRepository {
+    public void save(RefreshTokenFamily family);
+
+    /**
+     * Заменяет действующий токен семейства одним условным UPDATE.
+     * @param familyId идентификатор семейства
+     * @param currentTokenId предъявленный токен, должен быть действующим
+     * @param newTokenId новый токен
+     * @param expiresAt новый срок действия семейства
+     * @return true, если семейство не отозвано, не истекло и предъявлен действующий токен
+     */
+    public boolean rotate(UUID familyId, UUID currentTokenId, UUID newTokenId, LocalDateTime expiresAt);
+
+    /**
+     * @param familyId идентификатор семейства
+     * @return true, если семейство было отозвано этим вызовом
+     */
+    public boolean revoke(UUID familyId);
+
+    /**
+     * @param since момент, начиная с которого нужны отзывы, null - все
+     * @return идентификаторы отозванных и ещё не истекших семейств
+     */
+    public List<UUID> findRevokedSince(LocalDateTime since);
+}
@@ -1,20 +1,143 @@
 package com.example.taskmanagment.application.ports.out;
 
+import com.example.taskmanagment.application.domain.dto.TaskAccess;
+import com.example.taskmanagment.application.domain.dto.TaskBulkChange;
+import com.example.taskmanagment.application.domain.dto.TaskChanges;
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskReassignment;
+import com.example.taskmanagment.application.domain.dto.TaskStatsDTO;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
 import com.example.taskmanagment.application.domain.models.Task;
-import com.example.taskmanagment.application.domain.models.User;
+import com.example.taskmanagment.application.utils.pagination.PageCursor;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskRepository {
      void save(Task task);
+
+    /**
+     * Сохраняет новые задачи одной отдельной транзакцией с пакетной вставкой (JDBC batching).
+     * После сохранения у задач заполнены идентификаторы.
+     * @param tasks задачи для сохранения
+     */
+    void saveAll(List<Task> tasks);
      Optional<Task> findById(UUID id);
 
-    void delete(Task taskToDelete);
+    /**
+     * Возвращает задачу сразу в виде DTO-отображения, не загружая сущности
+     * @param id идентификатор задачи
+     * @return Optional<TaskViewDTO> DTO-отображение задачи
+     */
+    Optional<TaskViewDTO> findViewById(UUID id);
+
+    boolean existsById(UUID id);
+
+    /**
+     * Возвращает автора, исполнителя и версию задачи одним запросом без загрузки сущностей
+     * @param id идентификатор задачи
+     * @return Optional<TaskAccess> данные задачи или пустой Optional, если задача не найдена
+     */
+    Optional<TaskAccess> findAccessById(UUID id);
+
+    /**
+     * Меняет статус задачи одним условным запросом UPDATE, если пользователь - её автор или исполнитель,
+     * и увеличивает версию задачи.
+     * @param id идентификатор задачи
+     * @param userId идентификатор пользователя, выполняющего изменение
+     * @param expectedVersion версия, которую видел клиент, или null, если версия не проверяется
+     * @param status новый статус
+     * @return Optional<TaskAccess> автор, исполнитель и новая версия задачи из того же запроса
+     * или пустой Optional, если задача не изменена
+     */
+    Optional<TaskAccess> updateStatus(UUID id, UUID userId, Long expectedVersion, TaskStatus status);
+
+    /**
+     * Меняет исполнителя задачи одним условным запросом UPDATE, если пользователь - её автор,
+     * а пользователь с указанным email существует, и увеличивает версию задачи.
+     * @param id идентификатор задачи
+     * @param authorId идентификатор автора
+     * @param expectedVersion версия, которую видел клиент, или null, если версия не проверяется
+     * @param assigneeEmail email нового исполнителя
+     * @return Optional<TaskReassignment> автор, прежний и новый исполнитель из того же запроса
+     * или пустой Optional, если задача не изменена
+     */
+    Optional<TaskReassignment> updateAssignee(UUID id, UUID authorId, Long expectedVersion, String assigneeEmail);
+
+    /**
+     * Удаляет задачу одним запросом DELETE, если её автор - указанный пользователь.
+     * Комментарии задачи удаляет база данных (ON DELETE CASCADE).
+     * @param id идентификатор задачи
+     * @param authorId идентификатор автора
+     * @return Optional<TaskAccess> автор и исполнитель удалённой задачи из того же запроса
+     * или пустой Optional, если задача не удалена
+     */
+    Optional<TaskAccess> deleteByIdAndAuthor(UUID id, UUID authorId);
+
+    /**
+     * Удаляет одним запросом DELETE все задачи пользователя, удовлетворяющие фильтру и списку ID.
+     * @param filter условия выборки
+     * @param ids идентификаторы задач или null, если выборка только по фильтру
+     * @param authorId идентификатор автора
+     * @return TaskBulkChange количество удалённых задач и их участники из того же запроса
+     */
+    TaskBulkChange deleteAll(TaskFilter filter, Collection<UUID> ids, UUID authorId);
+
+    /**
+     * Возвращает одну страницу задач, удовлетворяющих фильтру, отсортированных от новых к старым.
+     * Фильтрация и пагинация выполняются на стороне базы данных.
+     * @param filter условия выборки
+     * @param page номер страницы, начиная с 0
+     * @param size размер страницы
+     * @return List<TaskViewDTO> задачи страницы в виде DTO-отображений
+     */
+    List<TaskViewDTO> findAll(TaskFilter filter, int page, int size);
+
+    /**
+     * Возвращает задачи, удовлетворяющие фильтру и расположенные строго после курсора
+     * в порядке (createdDate, id) по убыванию. Стоимость запроса не зависит от глубины страницы.
+     * @param filter условия выборки
+     * @param cursor позиция последнего элемента предыдущей страницы или null для первой страницы
+     * @param limit максимальное количество задач
+     * @return List<TaskViewDTO> задачи страницы в виде DTO-отображений
+     */
+    List<TaskViewDTO> findAllAfter(TaskFilter filter, PageCursor cursor, int limit);
+
+    /**
+     * Возвращает счётчики задач пользователя из таблицы task_stats, которую поддерживает триггер на tasks.
+     * Читается не больше 18 строк по первичному ключу, независимо от количества задач.
+     * @param userId идентификатор пользователя
+     * @return TaskStatsDTO количество задач по статусу и приоритету
+     */
+    TaskStatsDTO countByUser(UUID userId);
 
-    List<Task> findAllByAuthor(User user);
+    /**
+     * Полнотекстовый поиск по названию и описанию задач, автором или исполнителем которых является пользователь.
+     * Каждое слово запроса ищется как префикс, результаты отсортированы по релевантности.
+     * Ранжируется ограниченное число самых новых совпадений, поэтому глубокие страницы могут быть пустыми.
+     * @param userId идентификатор пользователя
+     * @param query поисковая строка
+     * @param status статус задачи или null
+     * @param priority приоритет задачи или null
+     * @param page номер страницы, начиная с 0
+     * @param size размер страницы
+     * @return List<TaskViewDTO> найденные задачи в виде DTO-отображений
+     */
+    List<TaskViewDTO> search(UUID userId, String query, TaskStatus status, PriorityLevel priority, int page, int size);
 
-    List<Task> findAllByAssignee(User user);
+    /**
+     * Изменяет все задачи, удовлетворяющие фильтру и списку ID, одним запросом UPDATE, не загружая сущности.
+     * Проверка прав входит в условие запроса: задачи, которые пользователь не может изменять, не затрагиваются.
+     * @param filter условия выборки
+     * @param ids идентификаторы задач или null, если выборка только по фильтру
+     * @param userId идентификатор пользователя, выполняющего изменение
+     * @param changes новые значения полей
+     * @return TaskBulkChange количество изменённых задач и их участники, включая прежних исполнителей, из того же запроса
+     */
+    TaskBulkChange updateAll(TaskFilter filter, Collection<UUID> ids, UUID userId, TaskChanges changes);
 }
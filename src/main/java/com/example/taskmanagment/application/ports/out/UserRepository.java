@@ -2,6 +2,8 @@ package com.example.taskmanagment.application.ports.out;
 
 import com.example.taskmanagment.application.domain.models.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,13 @@ public interface UserRepository {
     public Optional<User> findByEmail(String email);
 
     public Optional<User> findById(UUID id);
+
+    public List<User> findAllByEmailIn(Collection<String> emails);
+
+    /**
+     * Ссылка на пользователя без запроса в базу, для заполнения внешнего ключа при записи
+     * @param id идентификатор пользователя
+     * @return User прокси с заданным id
+     */
+    public User getReference(UUID id);
 }
@@ -6,21 +6,28 @@ import com.example.taskmanagment.adapters.in.rest.exceptions.TaskNotFoundExcepti
 import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
 import com.example.taskmanagment.application.domain.dto.CommentUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import com.example.taskmanagment.application.domain.dto.CursorPageDTO;
+import com.example.taskmanagment.application.domain.dto.TaskEventDTO;
+import com.example.taskmanagment.application.domain.enums.TaskEventType;
+import com.example.taskmanagment.application.domain.events.TaskEvent;
 import com.example.taskmanagment.application.domain.models.Comment;
 import com.example.taskmanagment.application.domain.models.Task;
-import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.in.CommentService;
 import com.example.taskmanagment.application.ports.out.CommentRepository;
 import com.example.taskmanagment.application.ports.out.TaskRepository;
 import com.example.taskmanagment.application.ports.out.UserRepository;
 import com.example.taskmanagment.application.utils.mappers.CommentMapper;
+import com.example.taskmanagment.application.utils.pagination.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -31,25 +38,48 @@ import java.util.UUID;
 public class CommentServiceImpl implements CommentService {
     private final TaskRepository taskRepository;
     private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
     private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
      * Создаёт новый комментарий на основе DTO-обновления комментария и ID задачи.
+     * Автор и исполнитель задачи получают событие COMMENT_CREATED.
      * @param commentDto DTO обновления. Хранит в себе допустимые для редактирования данные, поступающие от пользователя.
      * @param taskId Идентификатор задачи
      */
     @Override
     public void createComment(CommentUpdateDTO commentDto, String taskId)  {
-        User authenticatedUser = getUserFromSecurityContext();
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
 
         Comment comment = commentMapper.toComment(commentDto);
-        comment.setAuthor(authenticatedUser);
-        comment.setTask(taskRepository.findById(UUID.fromString(taskId))
-                .orElseThrow(TaskNotFoundException::new));
+        comment.setAuthor(userRepository.getReference(authenticatedUser.id()));
+        Task task = taskRepository.findById(UUID.fromString(taskId))
+                .orElseThrow(TaskNotFoundException::new);
+        comment.setTask(task);
         comment.setCreatedDate(LocalDateTime.now());
 
         commentRepository.save(comment);
+
+        Set<UUID> recipientIds = new HashSet<>();
+        recipientIds.add(task.getAuthor().getId());
+        if (task.getAssignee() != null) {
+            recipientIds.add(task.getAssignee().getId());
+        }
+        // Автор комментария - ссылка без загрузки из базы, поэтому его email берётся из SecurityContext
+        CommentViewDTO commentViewDTO = CommentViewDTO.builder()
+                .id(comment.getId())
+                .content(comment.getContent())
+                .createdDate(comment.getCreatedDate())
+                .author(authenticatedUser.email())
+                .task(task.getId())
+                .build();
+        eventPublisher.publishEvent(new TaskEvent(recipientIds, TaskEventDTO.builder()
+                .type(TaskEventType.COMMENT_CREATED)
+                .taskId(task.getId())
+                .comment(commentViewDTO)
+                .build()));
     }
 
     /**
@@ -60,10 +90,11 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public void delete(String commentId) throws CommentNotFoundException, PermissionDeniedException {
-        User authenticatedUser = getUserFromSecurityContext();
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
         Comment comment = commentRepository.findById(UUID.fromString(commentId))
                 .orElseThrow(CommentNotFoundException::new);
-        if(comment.getAuthor().equals(authenticatedUser) || comment.getTask().getAuthor().equals(authenticatedUser)) {
+        UUID userId = authenticatedUser.id();
+        if(userId.equals(comment.getAuthor().getId()) || userId.equals(comment.getTask().getAuthor().getId())) {
             commentRepository.delete(comment);
         } else throw new PermissionDeniedException();
     }
@@ -78,26 +109,48 @@ public class CommentServiceImpl implements CommentService {
      */
     @Override
     public List<CommentViewDTO> getCommentsByTask(String taskId, String pageStr, String sizeStr) throws TaskNotFoundException {
-        long page = Long.parseLong(pageStr);
-        long size = Long.parseLong(sizeStr);
+        int page = Integer.parseInt(pageStr);
+        int size = Integer.parseInt(sizeStr);
 
-        if(page < 0 || page > size || size < 1) {
+        if(page < 0 || size < 1 || (long) page * size > Integer.MAX_VALUE) {
             throw new IllegalArgumentException("Bad pagination parameters");
         }
 
-        Task task = taskRepository.findById(UUID.fromString(taskId)).orElseThrow(TaskNotFoundException::new);
-        List<CommentViewDTO> comments = commentRepository.findAllCommentsByTask(task).stream()
-                .skip( page * size)
-                .limit(size)
-                .map(commentMapper::commentViewDTO)
-                .toList();
+        UUID id = UUID.fromString(taskId);
+        if(!taskRepository.existsById(id)) throw new TaskNotFoundException();
+        List<CommentViewDTO> comments = commentRepository.findAllByTask(id, page, size);
         if(comments.isEmpty()) throw new CommentNotFoundException("Comments not found");
         return comments;
     }
 
-    private User getUserFromSecurityContext() {
+    /**
+     * Получает страницу комментариев задачи в хронологическом порядке с курсорной пагинацией.
+     * Задача при этом не загружается: для несуществующей задачи возвращается пустая страница.
+     * @param taskId Идентификатор задачи
+     * @param cursor Курсор, полученный с предыдущей страницы. Пустой для первой страницы
+     * @param sizeStr Количество комментариев на странице
+     * @return CursorPageDTO<CommentViewDTO> комментарии страницы и курсор следующей
+     */
+    @Override
+    public CursorPageDTO<CommentViewDTO> getCommentPageByTask(String taskId, String cursor, String sizeStr) {
+        int size = Integer.parseInt(sizeStr);
+        if(size < 1 || size == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad pagination parameters");
+        }
+
+        // Запрашиваем на один комментарий больше, чтобы понять, есть ли следующая страница
+        List<CommentViewDTO> comments = commentRepository.findAllByTaskAfter(UUID.fromString(taskId), PageCursor.decode(cursor), size + 1);
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            CommentViewDTO last = comments.get(size - 1);
+            nextCursor = new PageCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(comments, nextCursor);
+    }
+
+    private CustomUserDetails getUserFromSecurityContext() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        return userDetails.user();
+        return (CustomUserDetails) authentication.getPrincipal();
     }
 }
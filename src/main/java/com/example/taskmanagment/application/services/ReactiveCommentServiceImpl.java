@@ -0,0 +1,30 @@
+package com.example.taskmanagment.application.services;
+
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import com.example.taskmanagment.application.ports.in.ReactiveCommentService;
+import com.example.taskmanagment.application.ports.out.ReactiveCommentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Сервис потокового чтения комментариев
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCommentServiceImpl implements ReactiveCommentService {
+    private final ReactiveCommentRepository reactiveCommentRepository;
+
+    /**
+     * Получает все комментарии задачи в хронологическом порядке.
+     * Задача не проверяется: для несуществующей задачи поток пустой.
+     * @param taskId идентификатор задачи
+     * @return Flux<CommentViewDTO> поток комментариев
+     */
+    @Override
+    public Flux<CommentViewDTO> streamCommentsByTask(String taskId) {
+        return reactiveCommentRepository.findAllByTask(UUID.fromString(taskId));
+    }
+}
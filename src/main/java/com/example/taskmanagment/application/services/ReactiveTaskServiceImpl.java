@@ -0,0 +1,47 @@
+package com.example.taskmanagment.application.services;
+
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.ports.in.ReactiveTaskService;
+import com.example.taskmanagment.application.ports.out.ReactiveTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Сервис потокового чтения задач.
+ * Существование пользователя не проверяется, чтобы не делать блокирующий запрос: для неизвестного пользователя поток пустой.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+    private final ReactiveTaskRepository reactiveTaskRepository;
+
+    /**
+     * Получает все задачи, созданные пользователем, от новых к старым
+     * @param userId идентификатор автора
+     * @param status статус задачи или null
+     * @param priority приоритет задачи или null
+     * @return Flux<TaskViewDTO> поток задач
+     */
+    @Override
+    public Flux<TaskViewDTO> streamTasksByAuthor(String userId, TaskStatus status, PriorityLevel priority) {
+        return reactiveTaskRepository.findAll(TaskFilter.byAuthor(UUID.fromString(userId), status, priority));
+    }
+
+    /**
+     * Получает все задачи, исполняемые пользователем, от новых к старым
+     * @param userId идентификатор исполнителя
+     * @param status статус задачи или null
+     * @param priority приоритет задачи или null
+     * @return Flux<TaskViewDTO> поток задач
+     */
+    @Override
+    public Flux<TaskViewDTO> streamTasksByAssignee(String userId, TaskStatus status, PriorityLevel priority) {
+        return reactiveTaskRepository.findAll(TaskFilter.byAssignee(UUID.fromString(userId), status, priority));
+    }
+}
@@ -1,38 +1,80 @@
 package com.example.taskmanagment.application.services;
 
 import com.example.taskmanagment.adapters.in.rest.exceptions.PermissionDeniedException;
+import com.example.taskmanagment.adapters.in.rest.exceptions.TaskConflictException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.TaskNotFoundException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.UserNotFoundException;
 import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
+import com.example.taskmanagment.application.domain.dto.BulkDeleteResultDTO;
+import com.example.taskmanagment.application.domain.dto.BulkTaskResultDTO;
+import com.example.taskmanagment.application.domain.dto.BulkUpdateResultDTO;
+import com.example.taskmanagment.application.domain.dto.CursorPageDTO;
+import com.example.taskmanagment.application.domain.dto.TaskAccess;
+import com.example.taskmanagment.application.domain.dto.TaskBulkChange;
+import com.example.taskmanagment.application.domain.dto.TaskBulkDeleteDTO;
+import com.example.taskmanagment.application.domain.dto.TaskBulkUpdateDTO;
+import com.example.taskmanagment.application.domain.dto.TaskChanges;
+import com.example.taskmanagment.application.domain.dto.TaskEventDTO;
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskReassignment;
+import com.example.taskmanagment.application.domain.dto.TaskStatsDTO;
 import com.example.taskmanagment.application.domain.dto.TaskUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
 import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskEventType;
 import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.domain.events.TaskEvent;
 import com.example.taskmanagment.application.domain.models.Task;
 import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.in.TaskService;
 import com.example.taskmanagment.application.ports.out.TaskRepository;
 import com.example.taskmanagment.application.ports.out.UserRepository;
 import com.example.taskmanagment.application.utils.mappers.TaskMapper;
+import com.example.taskmanagment.application.utils.pagination.PageCursor;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для работы с задачами
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**Количество задач, вставляемых одной транзакцией при пакетном создании**/
+    @Value("${tasks.bulk.chunk-size}")
+    private int bulkChunkSize;
+
+    /**Максимальное количество задач в одном пакетном запросе**/
+    @Value("${tasks.bulk.max-size}")
+    private int bulkMaxSize;
 
     /**
      * Создаёт новую задачу по данным с DTO-обновления
@@ -40,7 +82,7 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public void createTask(TaskUpdateDTO taskUpdateDTO) {
-        User authenticatedUser = getUserFromSecurityContext();
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
         Task newTask = taskMapper.toTask(taskUpdateDTO);
 
         if (taskUpdateDTO.getAssigneeEmail() != null) {
@@ -49,12 +91,91 @@ public class TaskServiceImpl implements TaskService {
             newTask.setAssignee(assignee);
         }
 
-        newTask.setAuthor(authenticatedUser);
+        newTask.setAuthor(userRepository.getReference(authenticatedUser.id()));
         newTask.setCreatedDate(LocalDateTime.now());
         newTask.setUpdatedAt(LocalDateTime.now());
 
         taskRepository.save(newTask);
 
+        publish(TaskEventType.TASK_CREATED, newTask.getId(), toCreatedView(newTask, authenticatedUser.email()),
+                participants(authenticatedUser.id(), newTask.getAssignee() == null ? null : newTask.getAssignee().getId()));
+    }
+
+
+    /**
+     * Создаёт задачи пакетом. Исполнители всех задач ищутся одним запросом, задачи вставляются порциями
+     * по tasks.bulk.chunk-size, каждая порция - в отдельной транзакции с пакетной вставкой.
+     * Ошибка в одной задаче или порции не отменяет остальные. Список с null-элементами отклоняется целиком.
+     * @param taskUpdateDTOs DTO-обновления создаваемых задач
+     * @return List<BulkTaskResultDTO> результат по каждой задаче в порядке запроса
+     * @throws IllegalArgumentException выбрасывается, если задач больше tasks.bulk.max-size или среди них есть null
+     */
+    @Override
+    public List<BulkTaskResultDTO> createTasks(List<TaskUpdateDTO> taskUpdateDTOs) {
+        if (taskUpdateDTOs.size() > bulkMaxSize) {
+            throw new IllegalArgumentException(String.format("No more than %d tasks per request", bulkMaxSize));
+        }
+        if (taskUpdateDTOs.contains(null)) {
+            throw new IllegalArgumentException("Task list must not contain null elements");
+        }
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        User author = userRepository.getReference(authenticatedUser.id());
+
+        Set<String> assigneeEmails = taskUpdateDTOs.stream()
+                .map(TaskUpdateDTO::getAssigneeEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, User> assignees = assigneeEmails.isEmpty() ? Map.of() : userRepository.findAllByEmailIn(assigneeEmails).stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        List<BulkTaskResultDTO> results = new ArrayList<>(taskUpdateDTOs.size());
+        List<Task> chunk = new ArrayList<>(bulkChunkSize);
+        List<BulkTaskResultDTO> chunkResults = new ArrayList<>(bulkChunkSize);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < taskUpdateDTOs.size(); i++) {
+            TaskUpdateDTO taskUpdateDTO = taskUpdateDTOs.get(i);
+            String error = validateForBulk(taskUpdateDTO, assignees);
+            if (error != null) {
+                results.add(new BulkTaskResultDTO(i, null, false, error));
+                continue;
+            }
+
+            Task newTask = taskMapper.toTask(taskUpdateDTO);
+            if (taskUpdateDTO.getAssigneeEmail() != null) {
+                newTask.setAssignee(assignees.get(taskUpdateDTO.getAssigneeEmail()));
+            }
+            newTask.setAuthor(author);
+            newTask.setCreatedDate(now);
+            newTask.setUpdatedAt(now);
+
+            chunk.add(newTask);
+            chunkResults.add(new BulkTaskResultDTO(i, null, true, null));
+            if (chunk.size() == bulkChunkSize) {
+                saveChunk(chunk, chunkResults, results);
+            }
+        }
+        saveChunk(chunk, chunkResults, results);
+
+        results.sort(Comparator.comparingInt(BulkTaskResultDTO::getIndex));
+
+        // Одно событие на весь пакет: автору и исполнителям созданных задач
+        int created = 0;
+        Set<UUID> recipientIds = new HashSet<>();
+        recipientIds.add(authenticatedUser.id());
+        for (BulkTaskResultDTO result : results) {
+            if (result.isCreated()) {
+                created++;
+                String assigneeEmail = taskUpdateDTOs.get(result.getIndex()).getAssigneeEmail();
+                if (assigneeEmail != null) {
+                    recipientIds.add(assignees.get(assigneeEmail).getId());
+                }
+            }
+        }
+        if (created > 0) {
+            publishBulk(TaskEventType.TASKS_BULK_CREATED, created, recipientIds);
+        }
+        return results;
     }
 
 
@@ -66,9 +187,8 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public TaskViewDTO getTaskById(String id) throws TaskNotFoundException {
-        Task task = taskRepository.findById(UUID.fromString(id))
+        return taskRepository.findViewById(UUID.fromString(id))
                 .orElseThrow(() -> new TaskNotFoundException("Task not found"));
-        return taskMapper.toTaskDto(task);
     }
 
     /**
@@ -82,105 +202,373 @@ public class TaskServiceImpl implements TaskService {
      */
     @Override
     public TaskViewDTO updateTask(String taskId, TaskUpdateDTO update) throws TaskNotFoundException, UserNotFoundException, PermissionDeniedException {
-        User authenticatedUser = getUserFromSecurityContext();
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
         Task taskToUpdate = taskRepository.findById(UUID.fromString(taskId)).orElseThrow(TaskNotFoundException::new);
+        UUID previousAssigneeId = taskToUpdate.getAssignee() == null ? null : taskToUpdate.getAssignee().getId();
 
-        if (taskToUpdate.getAuthor().equals(authenticatedUser)) {
+        // Пользователь из SecurityContext загружен в другой сессии, поэтому сравниваются идентификаторы, а не сущности
+        if (authenticatedUser.id().equals(taskToUpdate.getAuthor().getId())) {
             updateMainTaskInfo(taskToUpdate, update);
         } else throw new PermissionDeniedException();
 
         taskRepository.save(taskToUpdate);
 
-        return taskMapper.toTaskDto(taskToUpdate);
+        TaskViewDTO taskViewDTO = taskMapper.toTaskDto(taskToUpdate);
+        UUID assigneeId = taskToUpdate.getAssignee() == null ? null : taskToUpdate.getAssignee().getId();
+        TaskEventType type = Objects.equals(previousAssigneeId, assigneeId) ? TaskEventType.TASK_UPDATED : TaskEventType.TASK_REASSIGNED;
+        publish(type, taskToUpdate.getId(), taskViewDTO, participants(authenticatedUser.id(), previousAssigneeId, assigneeId));
+        return taskViewDTO;
     }
 
     /**
+     * Меняет статус задачи одним условным запросом UPDATE. Права и версия проверяются в условии запроса,
+     * причина отказа выясняется отдельным запросом, только если ни одна строка не изменена.
      * @param taskId идентификатор задачи
      * @param newStatus новый статус задачи
-     * @return
+     * @param expectedVersion версия задачи, которую видел клиент, или null
+     * @return TaskViewDTO DTO-отображение изменённой задачи
+     * @throws TaskNotFoundException выбрасывается, если задача не найдена
+     * @throws PermissionDeniedException выбрасывается, если пользователь не автор и не исполнитель задачи
+     * @throws TaskConflictException выбрасывается, если версия задачи не совпадает с переданной
      */
     @Override
-    public TaskViewDTO changeStatus(String taskId, TaskStatus newStatus) {
-        User authenticatedUser = getUserFromSecurityContext();
-        Task taskToUpdate = taskRepository.findById(UUID.fromString(taskId)).orElseThrow(TaskNotFoundException::new);
-        if (taskToUpdate.getAuthor().equals(authenticatedUser) || taskToUpdate.getAssignee().equals(authenticatedUser)) {
-            taskToUpdate.setStatus(newStatus);
-            taskRepository.save(taskToUpdate);
+    public TaskViewDTO changeStatus(String taskId, TaskStatus newStatus, Long expectedVersion) {
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        UUID id = UUID.fromString(taskId);
+        Optional<TaskAccess> updated = taskRepository.updateStatus(id, authenticatedUser.id(), expectedVersion, newStatus);
+        if (updated.isEmpty()) {
+            TaskAccess access = taskRepository.findAccessById(id).orElseThrow(TaskNotFoundException::new);
+            if (!access.isAuthor(authenticatedUser.id()) && !access.isAssignee(authenticatedUser.id())) {
+                throw new PermissionDeniedException();
+            }
+            throw new TaskConflictException();
+        }
+        TaskViewDTO taskViewDTO = taskRepository.findViewById(id).orElseThrow(TaskNotFoundException::new);
+        publish(TaskEventType.TASK_UPDATED, id, taskViewDTO, participants(authenticatedUser.id(), updated));
+        return taskViewDTO;
+    }
 
-            return taskMapper.toTaskDto(taskToUpdate);
-        } else throw new PermissionDeniedException();
+    /**
+     * Меняет исполнителя задачи одним условным запросом UPDATE. Права, существование исполнителя и версия
+     * проверяются в условии запроса, причина отказа выясняется, только если ни одна строка не изменена.
+     * @param taskId идентификатор задачи
+     * @param assigneeEmail email нового исполнителя
+     * @param expectedVersion версия задачи, которую видел клиент, или null
+     * @return TaskViewDTO DTO-отображение изменённой задачи
+     * @throws TaskNotFoundException выбрасывается, если задача не найдена
+     * @throws PermissionDeniedException выбрасывается, если пользователь не автор задачи
+     * @throws UserNotFoundException выбрасывается, если не найден новый исполнитель
+     * @throws TaskConflictException выбрасывается, если версия задачи не совпадает с переданной
+     */
+    @Override
+    public TaskViewDTO changeAssignee(String taskId, String assigneeEmail, Long expectedVersion) {
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        UUID id = UUID.fromString(taskId);
+        Optional<TaskReassignment> reassignment = taskRepository.updateAssignee(id, authenticatedUser.id(), expectedVersion, assigneeEmail);
+        if (reassignment.isEmpty()) {
+            TaskAccess access = taskRepository.findAccessById(id).orElseThrow(TaskNotFoundException::new);
+            if (!access.isAuthor(authenticatedUser.id())) {
+                throw new PermissionDeniedException();
+            }
+            userRepository.findByEmail(assigneeEmail).orElseThrow(UserNotFoundException::new);
+            throw new TaskConflictException();
+        }
+        TaskViewDTO taskViewDTO = taskRepository.findViewById(id).orElseThrow(TaskNotFoundException::new);
+        // Прежний исполнитель тоже получает событие
+        TaskReassignment change = reassignment.get();
+        publish(TaskEventType.TASK_REASSIGNED, id, taskViewDTO,
+                participants(authenticatedUser.id(), change.authorId(), change.previousAssigneeId(), change.assigneeId()));
+        return taskViewDTO;
     }
 
+    /**
+     * Пакетно изменяет статус, приоритет и/или исполнителя задач, выбранных списком ID и/или фильтром.
+     * Изменение выполняется одним запросом UPDATE, условие которого включает проверку прав:
+     * статус могут менять автор и исполнитель, приоритет и исполнителя - только автор.
+     * Задачи, на которые у пользователя нет прав, молча пропускаются.
+     * @param update выборка задач и новые значения полей
+     * @return BulkUpdateResultDTO количество изменённых задач
+     * @throws UserNotFoundException выбрасывается, если не найден новый исполнитель
+     */
     @Override
-    public TaskViewDTO changeAssignee(String taskId, String assigneeEmail) {
-        User authenticatedUser = getUserFromSecurityContext();
-        Task taskToUpdate = taskRepository.findById(UUID.fromString(taskId)).orElseThrow(TaskNotFoundException::new);
-        if (taskToUpdate.getAuthor().equals(authenticatedUser)) {
-            User newAssignee = userRepository.findByEmail(assigneeEmail).orElseThrow(UserNotFoundException::new);
+    public BulkUpdateResultDTO updateTasks(TaskBulkUpdateDTO update) {
+        List<UUID> ids = requireSelection(update.getIds(), update.getFilter());
 
-            taskToUpdate.setAssignee(newAssignee);
-            taskRepository.save(taskToUpdate);
+        UUID assigneeId = null;
+        if (update.getAssigneeEmail() != null) {
+            assigneeId = userRepository.findByEmail(update.getAssigneeEmail())
+                    .orElseThrow(() -> new UserNotFoundException("Assignee not found"))
+                    .getId();
+        }
+        TaskChanges changes = new TaskChanges(update.getStatus(), update.getPriority(), assigneeId);
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
 
-            return taskMapper.toTaskDto(taskToUpdate);
-        } else throw new PermissionDeniedException();
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        // Участники, включая прежних исполнителей, возвращаются тем же запросом UPDATE
+        TaskBulkChange updated = taskRepository.updateAll(update.getFilter(), ids, authenticatedUser.id(), changes);
+        if (updated.count() > 0) {
+            publishBulk(TaskEventType.TASKS_BULK_UPDATED, updated.count(), updated.participantIds());
+        }
+        return new BulkUpdateResultDTO(updated.count());
     }
 
-
+    /**
+     * Удаляет задачу одним условным запросом DELETE по ID и автору. Задача не загружается,
+     * а её комментарии удаляет база данных. Существование задачи проверяется только если ничего не удалено,
+     * чтобы отличить отсутствие задачи от отсутствия прав.
+     * @param taskId идентификатор задачи
+     * @throws TaskNotFoundException выбрасывается, если задача не найдена
+     * @throws PermissionDeniedException выбрасывается, если пользователь не автор задачи
+     */
     @Override
     public void deleteTask(String taskId) {
-        User authenticatedUser = getUserFromSecurityContext();
-        Task taskToDelete = taskRepository.findById(UUID.fromString(taskId)).orElseThrow(TaskNotFoundException::new);
-        if (taskToDelete.getAuthor().equals(authenticatedUser)) {
-            taskRepository.delete(taskToDelete);
-        } else throw new PermissionDeniedException();
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        UUID id = UUID.fromString(taskId);
+        // Исполнитель удалённой задачи возвращается тем же запросом DELETE, ему нужно отправить событие
+        Optional<TaskAccess> access = taskRepository.deleteByIdAndAuthor(id, authenticatedUser.id());
+        if (access.isEmpty()) {
+            if (taskRepository.existsById(id)) {
+                throw new PermissionDeniedException();
+            }
+            throw new TaskNotFoundException();
+        }
+        publish(TaskEventType.TASK_DELETED, id, null, participants(authenticatedUser.id(), access));
+    }
+
+    /**
+     * Пакетно удаляет задачи пользователя, выбранные списком ID и/или фильтром, одним запросом DELETE.
+     * Задачи, автором которых пользователь не является, пропускаются.
+     * @param delete выборка задач
+     * @return BulkDeleteResultDTO количество удалённых задач
+     */
+    @Override
+    public BulkDeleteResultDTO deleteTasks(TaskBulkDeleteDTO delete) {
+        List<UUID> ids = requireSelection(delete.getIds(), delete.getFilter());
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        TaskBulkChange deleted = taskRepository.deleteAll(delete.getFilter(), ids, authenticatedUser.id());
+        if (deleted.count() > 0) {
+            publishBulk(TaskEventType.TASKS_BULK_DELETED, deleted.count(), deleted.participantIds());
+        }
+        return new BulkDeleteResultDTO(deleted.count());
     }
 
     @Override
     public List<TaskViewDTO> getTaskByAuthor(String userId, TaskStatus status, PriorityLevel priority, String pageStr, String sizeStr) {
-        long page = Long.parseLong(pageStr);
-        long size = Long.parseLong(sizeStr);
+        int page = Integer.parseInt(pageStr);
+        int size = Integer.parseInt(sizeStr);
 
-        if(page < 0 || page > size || size < 1) {
+        if(page < 0 || size < 1 || (long) page * size > Integer.MAX_VALUE) {
             throw new IllegalArgumentException("Bad pagination parameters");
         }
 
         User user = userRepository.findById(UUID.fromString(userId)).orElseThrow(UserNotFoundException::new);
-        List<TaskViewDTO> tasks = taskRepository.findAllByAuthor(user).stream()
-                .filter(task -> (status ==  null || task.getStatus().getName().equals(status.getName())))
-                .filter(task -> (priority == null || task.getPriority().getName().equals(priority.getName())))
-                .skip( page * size)
-                .limit(size)
-                .map(taskMapper::toTaskDto)
-                .toList();
+        List<TaskViewDTO> tasks = taskRepository.findAll(TaskFilter.byAuthor(user.getId(), status, priority), page, size);
         if(tasks.isEmpty()) throw new TaskNotFoundException("Tasks not found");
         return tasks;
     }
 
     @Override
     public List<TaskViewDTO> getTaskByAssignee(String userId, TaskStatus status, PriorityLevel priority, String pageStr, String sizeStr) {
-        long page = Long.parseLong(pageStr);
-        long size = Long.parseLong(sizeStr);
+        int page = Integer.parseInt(pageStr);
+        int size = Integer.parseInt(sizeStr);
 
-        if(page < 0 || page > size || size < 1) {
+        if(page < 0 || size < 1 || (long) page * size > Integer.MAX_VALUE) {
             throw new IllegalArgumentException("Bad pagination parameters");
         }
 
         User user = userRepository.findById(UUID.fromString(userId)).orElseThrow(UserNotFoundException::new);
-        List<TaskViewDTO> tasks = taskRepository.findAllByAssignee(user).stream()
-                .filter(task -> (status ==  null || task.getStatus().getName().equals(status.getName())))
-                .filter(task -> (priority == null || task.getPriority().getName().equals(priority.getName())))
-                .skip( page * size)
-                .limit(size)
-                .map(taskMapper::toTaskDto)
-                .toList();
+        List<TaskViewDTO> tasks = taskRepository.findAll(TaskFilter.byAssignee(user.getId(), status, priority), page, size);
         if(tasks.isEmpty()) throw new TaskNotFoundException("Tasks not found");
         return tasks;
     }
 
-    private User getUserFromSecurityContext() {
+    /**
+     * Получает страницу задач, созданных пользователем, с курсорной пагинацией
+     * @param userId идентификатор автора
+     * @param status статус задачи или null
+     * @param priority приоритет задачи или null
+     * @param cursor курсор, полученный с предыдущей страницы. Пустой для первой страницы
+     * @param sizeStr размер страницы
+     * @return CursorPageDTO<TaskViewDTO> задачи страницы и курсор следующей
+     * @throws UserNotFoundException выбрасывается, если не найден пользователь
+     */
+    @Override
+    public CursorPageDTO<TaskViewDTO> getTaskPageByAuthor(String userId, TaskStatus status, PriorityLevel priority, String cursor, String sizeStr) {
+        User user = userRepository.findById(UUID.fromString(userId)).orElseThrow(UserNotFoundException::new);
+        return getTaskPage(TaskFilter.byAuthor(user.getId(), status, priority), cursor, sizeStr);
+    }
+
+    /**
+     * Получает страницу задач, исполняемых пользователем, с курсорной пагинацией
+     * @param userId идентификатор исполнителя
+     * @param status статус задачи или null
+     * @param priority приоритет задачи или null
+     * @param cursor курсор, полученный с предыдущей страницы. Пустой для первой страницы
+     * @param sizeStr размер страницы
+     * @return CursorPageDTO<TaskViewDTO> задачи страницы и курсор следующей
+     * @throws UserNotFoundException выбрасывается, если не найден пользователь
+     */
+    @Override
+    public CursorPageDTO<TaskViewDTO> getTaskPageByAssignee(String userId, TaskStatus status, PriorityLevel priority, String cursor, String sizeStr) {
+        User user = userRepository.findById(UUID.fromString(userId)).orElseThrow(UserNotFoundException::new);
+        return getTaskPage(TaskFilter.byAssignee(user.getId(), status, priority), cursor, sizeStr);
+    }
+
+    /**
+     * Возвращает количество задач текущего пользователя по статусу и приоритету, отдельно для созданных
+     * и исполняемых задач. Счётчики поддерживаются базой данных при каждом изменении задач.
+     * @return TaskStatsDTO статистика задач пользователя
+     */
+    @Override
+    public TaskStatsDTO getTaskStats() {
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        return taskRepository.countByUser(authenticatedUser.id());
+    }
+
+    /**
+     * Полнотекстовый поиск по названию и описанию задач, автором или исполнителем которых является пользователь
+     * @param query поисковая строка
+     * @param status статус задачи или null
+     * @param priority приоритет задачи или null
+     * @param pageStr номер страницы
+     * @param sizeStr размер страницы
+     * @return List<TaskViewDTO> найденные задачи, от наиболее релевантных. Пустой список, если ничего не найдено
+     */
+    @Override
+    public List<TaskViewDTO> searchTasks(String query, TaskStatus status, PriorityLevel priority, String pageStr, String sizeStr) {
+        int page = Integer.parseInt(pageStr);
+        int size = Integer.parseInt(sizeStr);
+
+        if(page < 0 || size < 1 || (long) page * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad pagination parameters");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is empty");
+        }
+
+        CustomUserDetails authenticatedUser = getUserFromSecurityContext();
+        return taskRepository.search(authenticatedUser.id(), query, status, priority, page, size);
+    }
+
+    private CursorPageDTO<TaskViewDTO> getTaskPage(TaskFilter filter, String cursorStr, String sizeStr) {
+        int size = Integer.parseInt(sizeStr);
+        if(size < 1 || size == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bad pagination parameters");
+        }
+
+        // Запрашиваем на одну задачу больше, чтобы понять, есть ли следующая страница
+        List<TaskViewDTO> tasks = taskRepository.findAllAfter(filter, PageCursor.decode(cursorStr), size + 1);
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            TaskViewDTO last = tasks.get(size - 1);
+            nextCursor = new PageCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(tasks, nextCursor);
+    }
+
+    /**
+     * Проверяет, что пакетная операция ограничена списком ID или хотя бы одним условием фильтра
+     * @return List<UUID> список ID или null, если выборка только по фильтру
+     */
+    private List<UUID> requireSelection(List<UUID> ids, TaskFilter filter) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = filter != null && (filter.authorId() != null || filter.assigneeId() != null
+                || filter.status() != null || filter.priority() != null);
+        if (!hasIds && !hasFilter) {
+            throw new IllegalArgumentException("Task ids or filter are required");
+        }
+        if (hasIds && ids.size() > bulkMaxSize) {
+            throw new IllegalArgumentException(String.format("No more than %d tasks per request", bulkMaxSize));
+        }
+        return hasIds ? ids : null;
+    }
+
+    private String validateForBulk(TaskUpdateDTO taskUpdateDTO, Map<String, User> assignees) {
+        Set<ConstraintViolation<TaskUpdateDTO>> violations = validator.validate(taskUpdateDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (taskUpdateDTO.getAssigneeEmail() != null && !assignees.containsKey(taskUpdateDTO.getAssigneeEmail())) {
+            return "Assignee not found";
+        }
+        return null;
+    }
+
+    private void saveChunk(List<Task> chunk, List<BulkTaskResultDTO> chunkResults, List<BulkTaskResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            taskRepository.saveAll(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                chunkResults.get(i).setId(chunk.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Bulk task insert failed", e);
+            chunkResults.forEach(result -> {
+                result.setCreated(false);
+                result.setError("Failed to save task");
+            });
+        }
+        results.addAll(chunkResults);
+        chunk.clear();
+        chunkResults.clear();
+    }
+
+    /**
+     * Событие доставляется подписчикам после коммита транзакции, см. TaskEvent
+     */
+    private void publish(TaskEventType type, UUID taskId, TaskViewDTO task, Set<UUID> recipientIds) {
+        eventPublisher.publishEvent(new TaskEvent(recipientIds, TaskEventDTO.builder()
+                .type(type)
+                .taskId(taskId)
+                .task(task)
+                .build()));
+    }
+
+    private void publishBulk(TaskEventType type, int count, Set<UUID> recipientIds) {
+        eventPublisher.publishEvent(new TaskEvent(recipientIds, TaskEventDTO.builder()
+                .type(type)
+                .count(count)
+                .build()));
+    }
+
+    private static Set<UUID> participants(UUID userId, Optional<TaskAccess> access) {
+        return participants(userId, access.map(TaskAccess::authorId).orElse(null), access.map(TaskAccess::assigneeId).orElse(null));
+    }
+
+    private static Set<UUID> participants(UUID... userIds) {
+        return Arrays.stream(userIds)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Автор новой задачи - ссылка без загрузки из базы, поэтому его email берётся из SecurityContext
+     */
+    private static TaskViewDTO toCreatedView(Task task, String authorEmail) {
+        return TaskViewDTO.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .authorEmail(authorEmail)
+                .assigneeEmail(task.getAssignee() == null ? null : task.getAssignee().getEmail())
+                .createdDate(task.getCreatedDate())
+                .version(task.getVersion())
+                .build();
+    }
+
+    private CustomUserDetails getUserFromSecurityContext() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        return userDetails.user();
+        return (CustomUserDetails) authentication.getPrincipal();
     }
 
     private void updateMainTaskInfo(Task taskToUpdate, TaskUpdateDTO update) {
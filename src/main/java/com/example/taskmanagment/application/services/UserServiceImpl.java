@@ -1,20 +1,32 @@
 package com.example.taskmanagment.application.services;
 
+import com.example.taskmanagment.adapters.in.rest.exceptions.InvalidRefreshTokenException;
 import com.example.taskmanagment.adapters.in.rest.exceptions.UserNotFoundException;
+import com.example.taskmanagment.adapters.in.security.PasswordHasher;
 import com.example.taskmanagment.adapters.in.security.dto.JwtAuthenticationDto;
+import com.example.taskmanagment.adapters.in.security.dto.RefreshTokenClaims;
 import com.example.taskmanagment.adapters.in.security.dto.RefreshTokenDto;
 import com.example.taskmanagment.adapters.in.security.dto.UserCredentialsDto;
 import com.example.taskmanagment.application.domain.dto.UserDto;
+import com.example.taskmanagment.application.domain.events.RefreshTokenFamilyRevokedEvent;
+import com.example.taskmanagment.application.domain.events.UserChangedEvent;
+import com.example.taskmanagment.application.domain.models.RefreshTokenFamily;
 import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.in.JwtService;
 import com.example.taskmanagment.application.ports.in.UserService;
+import com.example.taskmanagment.application.ports.out.RefreshTokenRepository;
 import com.example.taskmanagment.application.ports.out.UserRepository;
+import com.example.taskmanagment.application.utils.ids.UuidV7Generator;
 import com.example.taskmanagment.application.utils.mappers.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.crossstore.ChangeSetPersister;
 import org.springframework.security.authentication.AuthenticationServiceException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -28,12 +40,21 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**Время жизни токена обновления в минутах, отсчитывается заново при каждой ротации**/
+    @Value("${jwt.refreshtoken.lifetime}")
+    private Long jwtRefreshTokenLifetime;
 
     
     /**
+     * Пользователь читается в короткой транзакции, пароль проверяется без транзакции,
+     * затем в короткой пишущей транзакции сохраняются пересчитанный хэш и семейство токенов обновления.
      * @param userCredentialsDto DTO хранящее в себе данные для входа
      * @return JwtAuthenticationDto возвращает DTO, хранящее в себе токен аутентификации и обновления
      * @throws AuthenticationServiceException Ошибка аутентификации
@@ -41,38 +62,84 @@ public class UserServiceImpl implements UserService {
     @Override
     public JwtAuthenticationDto signIn(UserCredentialsDto userCredentialsDto) throws AuthenticationServiceException {
         User user = findByCredentials(userCredentialsDto);
-        return jwtService.generateAuthToken(user.getEmail());
+        // Стоимость BCrypt могла измениться: пароль известен только при входе, поэтому хэш пересчитывается здесь
+        String rehashedPassword = passwordHasher.needsRehash(user.getPassword())
+                ? passwordHasher.encode(userCredentialsDto.getPassword())
+                : null;
+        RefreshTokenFamily family = inWriteTransaction(status -> {
+            if (rehashedPassword != null) {
+                user.setPassword(rehashedPassword);
+                userRepository.save(user);
+                eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+            }
+            RefreshTokenFamily newFamily = RefreshTokenFamily.builder()
+                    .user(userRepository.getReference(user.getId()))
+                    .currentTokenId(UuidV7Generator.next())
+                    .createdDate(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plusMinutes(jwtRefreshTokenLifetime))
+                    .build();
+            refreshTokenRepository.save(newFamily);
+            return newFamily;
+        });
+        return jwtService.generateAuthToken(user, family);
     }
 
     /**
+     * Ротация токена обновления: одним условным UPDATE действующий токен семейства заменяется новым.
+     * Если предъявлен уже заменённый токен, он мог быть украден, поэтому отзывается всё семейство.
      * @param refreshTokenDto Принимает на вход ДТО с токеном обновления и создаёт по нему новый токен доступа
-     * @return JwtAuthenticationDto. Хранит в себе токены доступа и обновления
+     * @return JwtAuthenticationDto. Хранит в себе новые токены доступа и обновления
+     * @throws InvalidRefreshTokenException Выбрасывается, если токен невалиден, уже использован или отозван
      * @throws UserNotFoundException Выбрасывается, если не может найти пользователя по токену обновления
      */
     @Override
-    public JwtAuthenticationDto refreshToken(RefreshTokenDto refreshTokenDto) throws UserNotFoundException {
-        String refreshToken = refreshTokenDto.getRefreshToken();
-        if(refreshToken != null && jwtService.validateJwtToken(refreshToken)) {
-            User user = findByEmail(jwtService.getEmailFromToken(refreshToken));
-            return jwtService.refreshBaseToken(user.getEmail(), refreshToken);
+    public JwtAuthenticationDto refreshToken(RefreshTokenDto refreshTokenDto) throws InvalidRefreshTokenException, UserNotFoundException {
+        RefreshTokenClaims claims = verifyRefreshToken(refreshTokenDto);
+        UUID newTokenId = UuidV7Generator.next();
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(jwtRefreshTokenLifetime);
+        if (!refreshTokenRepository.rotate(claims.familyId(), claims.tokenId(), newTokenId, expiresAt)) {
+            revokeFamily(claims.familyId());
+            throw new InvalidRefreshTokenException();
         }
-        throw new AuthenticationServiceException("Invalid refresh token");
+        User user = findByEmail(claims.email());
+        RefreshTokenFamily family = RefreshTokenFamily.builder()
+                .id(claims.familyId())
+                .currentTokenId(newTokenId)
+                .expiresAt(expiresAt)
+                .build();
+        return jwtService.generateAuthToken(user, family);
+    }
+
+    /**
+     * Выход: отзывает семейство токена обновления. Токены аутентификации этого входа перестают приниматься
+     * сразу на этом экземпляре и после обновления списка отозванных на остальных.
+     * @param refreshTokenDto ДТО с токеном обновления
+     * @throws InvalidRefreshTokenException Выбрасывается, если токен невалиден
+     */
+    @Override
+    public void logout(RefreshTokenDto refreshTokenDto) throws InvalidRefreshTokenException {
+        revokeFamily(verifyRefreshToken(refreshTokenDto).familyId());
     }
 
 
     /**
-     * Создаёт пользователя на основе переданных в него данных (Логин и пароль)
+     * Создаёт пользователя на основе переданных в него данных (Логин и пароль).
+     * Пароль хэшируется между короткой транзакцией проверки email и короткой транзакцией вставки.
      * @param authDto Данные для создания пользователя
      */
     @Override
     public void createUser(UserCredentialsDto authDto) {
-        if(userRepository.findByEmail(authDto.getEmail()).isPresent()) {
+        if(inReadOnlyTransaction(status -> userRepository.findByEmail(authDto.getEmail()).isPresent())) {
             throw new AuthenticationServiceException("User already exists");
         }
         User user = userMapper.toUser(authDto);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()));
         user.setCreatedDate(LocalDateTime.now());
-        userRepository.save(user);
+        inWriteTransaction(status -> {
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+            return null;
+        });
     }
 
 
@@ -100,16 +167,45 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(user);
     }
 
+    /**
+     * Пользователь читается в отдельной транзакции, а пароль проверяется уже после её завершения
+     */
     private User findByCredentials(UserCredentialsDto credentialsDto) throws AuthenticationServiceException {
-        Optional<User> optionalUser = userRepository.findByEmail(credentialsDto.getEmail());
+        Optional<User> optionalUser = inReadOnlyTransaction(status -> userRepository.findByEmail(credentialsDto.getEmail()));
         if(optionalUser.isPresent()) {
             User user = optionalUser.get();
-            if (passwordEncoder.matches(credentialsDto.getPassword(), user.getPassword())) {
+            if (passwordHasher.matches(credentialsDto.getPassword(), user.getPassword())) {
                 return user;
             }
         }
         throw new AuthenticationServiceException("Email or password is incorrect");
     }
+
+    private <T> T inReadOnlyTransaction(TransactionCallback<T> callback) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(callback);
+    }
+
+    private <T> T inWriteTransaction(TransactionCallback<T> callback) {
+        return new TransactionTemplate(transactionManager).execute(callback);
+    }
+
+    private RefreshTokenClaims verifyRefreshToken(RefreshTokenDto refreshTokenDto) throws InvalidRefreshTokenException {
+        String refreshToken = refreshTokenDto.getRefreshToken();
+        if (refreshToken == null) {
+            throw new InvalidRefreshTokenException();
+        }
+        return jwtService.verifyRefreshToken(refreshToken)
+                .orElseThrow(InvalidRefreshTokenException::new);
+    }
+
+    private void revokeFamily(UUID familyId) {
+        if (refreshTokenRepository.revoke(familyId)) {
+            eventPublisher.publishEvent(new RefreshTokenFamilyRevokedEvent(familyId));
+        }
+    }
+
     private User findByEmail(String email) throws UserNotFoundException {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with email %s not found", email)));
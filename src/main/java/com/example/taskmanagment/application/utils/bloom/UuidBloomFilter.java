@@ -0,0 +1,65 @@
+package com.example.taskmanagment.application.utils.bloom;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума для UUID. mightContain без ложноотрицательных ответов и без блокировок,
+ * поэтому перед точным множеством отсекает почти все проверки за несколько обращений к памяти.
+ * Добавление потокобезопасно, удаления нет - фильтр пересоздаётся целиком.
+ */
+public class UuidBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions ожидаемое количество элементов
+     * @param falsePositiveRate допустимая доля ложноположительных ответов при expectedInsertions элементах
+     */
+    public UuidBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+    }
+
+    public void put(UUID value) {
+        long h1 = mix(value.getMostSignificantBits() ^ value.getLeastSignificantBits());
+        long h2 = mix(value.getLeastSignificantBits() + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID value) {
+        long h1 = mix(value.getMostSignificantBits() ^ value.getLeastSignificantBits());
+        long h2 = mix(value.getLeastSignificantBits() + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Финализатор SplitMix64: UUIDv7 в старших битах содержит время, поэтому биты перемешиваются
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
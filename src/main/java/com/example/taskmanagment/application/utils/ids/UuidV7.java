@@ -0,0 +1,18 @@
+package com.example.taskmanagment.application.utils.ids;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Идентификатор сущности генерируется в приложении как UUID версии 7 (RFC 9562), упорядоченный по времени.
+ * Используется вместо @GeneratedValue(strategy = GenerationType.UUID), который выдаёт случайные UUID версии 4.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
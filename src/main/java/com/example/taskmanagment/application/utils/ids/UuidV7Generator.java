@@ -0,0 +1,52 @@
+package com.example.taskmanagment.application.utils.ids;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Генератор монотонных UUID версии 7. Старшие 48 бит - время в миллисекундах, следующие 12 бит (rand_a) -
+ * счётчик внутри миллисекунды, остальные 62 бита - случайные. Новые ключи попадают в правую часть B-дерева
+ * первичного ключа, а не в случайные страницы. Обращения к базе данных не требуется.
+ * <p>
+ * Время и счётчик хранятся в одном AtomicLong. Если за миллисекунду выдано больше 4096 идентификаторов,
+ * счётчик переполняется в поле времени, поэтому идентификаторы строго возрастают в пределах процесса.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    /**
+     * @return Следующий UUID версии 7, больший всех ранее выданных в этом процессе
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+        long mostSigBits = (timestamp << 16) | VERSION | counter;
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -34,7 +34,9 @@ public class TaskMapper {
         taskViewDTO.setStatus(task.getStatus());
         taskViewDTO.setPriority(task.getPriority());
         taskViewDTO.setAuthorEmail(task.getAuthor().getEmail());
-        taskViewDTO.setAssigneeEmail(task.getAssignee().getEmail());
+        taskViewDTO.setAssigneeEmail(task.getAssignee() == null ? null : task.getAssignee().getEmail());
+        taskViewDTO.setCreatedDate(task.getCreatedDate());
+        taskViewDTO.setVersion(task.getVersion());
         return taskViewDTO;
     }
 
@@ -0,0 +1,45 @@
+package com.example.taskmanagment.application.utils.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция в ленте, отсортированной по (createdDate, id).
+ * Клиенту отдаётся в виде непрозрачной строки, следующая страница начинается строго после этой позиции.
+ * @param createdDate дата создания последнего элемента страницы
+ * @param id идентификатор последнего элемента страницы
+ */
+public record PageCursor(LocalDateTime createdDate, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * @return Строка курсора в формате base64url
+     */
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Разбирает строку курсора, полученную от клиента
+     * @param cursor строка курсора
+     * @return PageCursor или null, если курсор пустой (первая страница)
+     * @throws IllegalArgumentException Выбрасывается, если курсор повреждён
+     */
+    public static PageCursor decode(String cursor) throws IllegalArgumentException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Bad cursor");
+        }
+    }
+}
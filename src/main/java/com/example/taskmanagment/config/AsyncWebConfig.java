@@ -0,0 +1,24 @@
+package com.example.taskmanagment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Исполнитель асинхронных ответов MVC. Потоковые эндпоинты (NDJSON) возвращают Flux,
+ * и Spring MVC пишет каждый элемент в ответ на этом исполнителе. Запись в сокет медленного клиента блокирует поток,
+ * поэтому на общем applicationTaskExecutor (8 платформенных потоков) несколько медленных клиентов останавливают все потоки.
+ * Здесь на каждую запись создаётся виртуальный поток, а время ответа ограничено spring.mvc.async.request-timeout.
+ * Конфигуратор без @Order применяется после конфигурации Spring Boot и заменяет её исполнитель
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(true);
+        configurer.setTaskExecutor(executor);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanagment.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Пул R2DBC для неблокирующего чтения задач и комментариев. Запись по-прежнему идёт через JPA.
+ * Пул намеренно не регистрируется бином ConnectionFactory: при его наличии Spring Boot отключает
+ * автоконфигурацию DataSource, на которой работают JPA и Flyway. По той же причине R2dbcAutoConfiguration исключена.
+ */
+@Configuration
+public class R2dbcConfig implements DisposableBean {
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(@Value("${app.r2dbc.url}") String url,
+                                         @Value("${app.r2dbc.username}") String username,
+                                         @Value("${app.r2dbc.password}") String password,
+                                         @Value("${app.r2dbc.pool.max-size}") int maxSize,
+                                         @Value("${app.r2dbc.pool.max-idle-time}") Duration maxIdleTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("r2dbc-read")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.taskmanagment.config;
+
+import com.example.taskmanagment.adapters.in.security.ratelimit.RateLimitFilter;
+import com.example.taskmanagment.adapters.in.security.ratelimit.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, meterRegistry);
+    }
+
+    /**
+     * Фильтр работает только в цепочке Spring Security после JwtFilter.
+     * Без этого Spring Boot зарегистрирует его ещё и в контейнере, раньше аутентификации,
+     * и OncePerRequestFilter пропустит повторный вызов внутри цепочки.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.taskmanagment.config;
+
+import com.example.taskmanagment.application.domain.models.Task;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кэш второго уровня Hibernate на Caffeine (JCache).
+ * Регионы создаются здесь, чтобы их размер и время жизни задавались свойствами app.cache.*,
+ * и передаются Hibernate через hibernate.javax.cache.cache_manager.
+ * У каждого контекста свой CacheManager: общий для JVM менеджер по умолчанию сохранил бы регионы
+ * с настройками первого контекста (например, в тестах с разными свойствами).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    /** Регион сущностей User. Имена регионов совпадают с @Cache и @NaturalIdCache на сущностях **/
+    public static final String USERS_REGION = "users";
+    /** Регион natural id: email -> id пользователя **/
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+    /** Регион сущностей Task. Создаётся и подключается к Task только при app.cache.tasks.enabled=true **/
+    public static final String TASKS_REGION = "tasks";
+    private static final String TASK_CLASS_CACHE = AvailableSettings.CLASS_CACHE_PREFIX + "." + Task.class.getName();
+
+    @Value("${app.cache.users.max-size}")
+    private long usersMaxSize;
+    @Value("${app.cache.users.ttl}")
+    private Duration usersTtl;
+    @Value("${app.cache.tasks.enabled}")
+    private boolean tasksEnabled;
+    @Value("${app.cache.tasks.max-size}")
+    private long tasksMaxSize;
+    @Value("${app.cache.tasks.ttl}")
+    private Duration tasksTtl;
+
+    /**
+     * Закрывается вместе с контекстом (метод close выводится Spring автоматически)
+     */
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("taskmanager-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        createCache(cacheManager, USERS_REGION, usersMaxSize, usersTtl);
+        createCache(cacheManager, USERS_BY_EMAIL_REGION, usersMaxSize, usersTtl);
+        if (tasksEnabled) {
+            createCache(cacheManager, TASKS_REGION, tasksMaxSize, tasksTtl);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Task не размечен @Cache: при выключенном кэше задачи не проходят через регион совсем,
+     * без записей в кэш и мягких блокировок при каждом изменении
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            if (tasksEnabled) {
+                properties.put(TASK_CLASS_CACHE, AccessType.READ_WRITE.getExternalName() + "," + TASKS_REGION);
+            }
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String region, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
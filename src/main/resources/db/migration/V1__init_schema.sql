@@ -0,0 +1,64 @@
+-- Исходная схема. IF NOT EXISTS позволяет применить миграцию к базе, созданной ранее через ddl-auto=update
+CREATE TABLE IF NOT EXISTS users
+(
+    id           UUID PRIMARY KEY,
+    username     VARCHAR(255),
+    email        VARCHAR(255) UNIQUE,
+    password     VARCHAR(255),
+    created_date TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS tasks
+(
+    id           UUID PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(2048),
+    status       VARCHAR(255),
+    priority     VARCHAR(255),
+    created_date TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    author_id    UUID NOT NULL REFERENCES users (id),
+    assignee_id  UUID REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS comments
+(
+    id           UUID PRIMARY KEY,
+    content      VARCHAR(2048) NOT NULL,
+    created_date TIMESTAMP(6),
+    user_id      UUID NOT NULL REFERENCES users (id),
+    task_id      UUID NOT NULL
+);
+
+-- Комментарии удаляются вместе с задачей. Внешний ключ, созданный Hibernate без каскада, пересоздаётся
+DO
+$$
+    DECLARE
+        fk_name TEXT;
+    BEGIN
+        FOR fk_name IN
+            SELECT con.conname
+            FROM pg_constraint con
+                     JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = ANY (con.conkey)
+            WHERE con.conrelid = 'comments'::regclass
+              AND con.contype = 'f'
+              AND att.attname = 'task_id'
+            LOOP
+                EXECUTE format('ALTER TABLE comments DROP CONSTRAINT %I', fk_name);
+            END LOOP;
+    END
+$$;
+
+ALTER TABLE comments
+    ADD CONSTRAINT fk_comments_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE;
+
+-- Фильтрация списков задач по автору/исполнителю, статусу и приоритету
+CREATE INDEX IF NOT EXISTS idx_tasks_author_status_priority ON tasks (author_id, status, priority);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status_priority ON tasks (assignee_id, status, priority);
+-- Сортировка и курсорная пагинация задач по (created_date, id)
+CREATE INDEX IF NOT EXISTS idx_tasks_author_created ON tasks (author_id, created_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created ON tasks (assignee_id, created_date, id);
+-- Комментарии задачи по (created_date, id) и каскадное удаление по task_id
+CREATE INDEX IF NOT EXISTS idx_comments_task_created ON comments (task_id, created_date, id);
+-- Проверка внешнего ключа при удалении пользователя
+CREATE INDEX IF NOT EXISTS idx_comments_user ON comments (user_id);
@@ -0,0 +1,3 @@
+-- Версия задачи для оптимистической блокировки
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
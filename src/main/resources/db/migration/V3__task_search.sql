@@ -0,0 +1,14 @@
+-- Полнотекстовый поиск по задачам. Конфигурация 'simple' не применяет стемминг, поэтому одинаково
+-- работает для русского и английского текста, а префиксный поиск (слово:*) покрывает словоформы
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+-- Поиск всегда ограничен задачами пользователя, поэтому индексы составные: (author_id | assignee_id, search_vector).
+-- btree_gin позволяет хранить UUID в GIN-индексе
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_tasks_author_search ON tasks USING GIN (author_id, search_vector);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_search ON tasks USING GIN (assignee_id, search_vector);
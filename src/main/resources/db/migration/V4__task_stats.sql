@@ -0,0 +1,72 @@
+-- Счётчики задач пользователя по роли (AUTHOR - автор, ASSIGNEE - исполнитель), статусу и приоритету.
+-- Поддерживаются триггером в той же транзакции, что и изменение задачи, в том числе для пакетных
+-- UPDATE/DELETE, которые не загружают сущности
+CREATE TABLE IF NOT EXISTS task_stats
+(
+    user_id    UUID         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    role       VARCHAR(16)  NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    priority   VARCHAR(255) NOT NULL,
+    task_count BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, role, status, priority)
+);
+
+CREATE OR REPLACE FUNCTION task_stats_add(p_user_id UUID, p_role VARCHAR, p_status VARCHAR, p_priority VARCHAR, p_delta INT)
+    RETURNS VOID AS
+$$
+BEGIN
+    IF p_user_id IS NULL OR p_status IS NULL OR p_priority IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO task_stats (user_id, role, status, priority, task_count)
+    VALUES (p_user_id, p_role, p_status, p_priority, p_delta)
+    ON CONFLICT (user_id, role, status, priority) DO UPDATE SET task_count = task_stats.task_count + p_delta;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION task_stats_on_change()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND OLD.author_id IS NOT DISTINCT FROM NEW.author_id
+        AND OLD.assignee_id IS NOT DISTINCT FROM NEW.assignee_id
+        AND OLD.status IS NOT DISTINCT FROM NEW.status
+        AND OLD.priority IS NOT DISTINCT FROM NEW.priority THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM task_stats_add(OLD.author_id, 'AUTHOR', OLD.status, OLD.priority, -1);
+        PERFORM task_stats_add(OLD.assignee_id, 'ASSIGNEE', OLD.status, OLD.priority, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM task_stats_add(NEW.author_id, 'AUTHOR', NEW.status, NEW.priority, 1);
+        PERFORM task_stats_add(NEW.assignee_id, 'ASSIGNEE', NEW.status, NEW.priority, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Блокировка не даёт изменить задачи между заполнением счётчиков и созданием триггера
+LOCK TABLE tasks IN SHARE ROW EXCLUSIVE MODE;
+
+INSERT INTO task_stats (user_id, role, status, priority, task_count)
+SELECT author_id, 'AUTHOR', status, priority, count(*)
+FROM tasks
+WHERE status IS NOT NULL AND priority IS NOT NULL
+GROUP BY author_id, status, priority
+ON CONFLICT DO NOTHING;
+
+INSERT INTO task_stats (user_id, role, status, priority, task_count)
+SELECT assignee_id, 'ASSIGNEE', status, priority, count(*)
+FROM tasks
+WHERE assignee_id IS NOT NULL AND status IS NOT NULL AND priority IS NOT NULL
+GROUP BY assignee_id, status, priority
+ON CONFLICT DO NOTHING;
+
+DROP TRIGGER IF EXISTS trg_task_stats ON tasks;
+CREATE TRIGGER trg_task_stats
+    AFTER INSERT OR DELETE OR UPDATE OF author_id, assignee_id, status, priority
+    ON tasks
+    FOR EACH ROW
+EXECUTE FUNCTION task_stats_on_change();
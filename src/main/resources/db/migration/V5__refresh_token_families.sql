@@ -0,0 +1,16 @@
+-- Семейства токенов обновления. Каждый вход создаёт семейство, каждый /auth/refresh заменяет current_token_id.
+-- Предъявление уже заменённого токена или выход отзывают всё семейство (revoked_at)
+CREATE TABLE IF NOT EXISTS refresh_token_families
+(
+    id               UUID PRIMARY KEY,
+    user_id          UUID         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    current_token_id UUID         NOT NULL,
+    created_date     TIMESTAMP(6) NOT NULL,
+    expires_at       TIMESTAMP(6) NOT NULL,
+    revoked_at       TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_families_user ON refresh_token_families (user_id);
+-- Инкрементальная загрузка списка отозванных семейств
+CREATE INDEX IF NOT EXISTS idx_refresh_token_families_revoked ON refresh_token_families (revoked_at)
+    WHERE revoked_at IS NOT NULL;
@@ -0,0 +1,136 @@
+package com.example.taskmanagment.adapters.in.rest.controllers;
+
+import com.example.taskmanagment.adapters.in.security.dto.JwtAuthenticationDto;
+import com.example.taskmanagment.adapters.in.security.dto.RefreshTokenDto;
+import com.example.taskmanagment.adapters.in.security.jwt.JwtServiceImpl;
+import com.example.taskmanagment.application.domain.models.User;
+import com.example.taskmanagment.application.ports.out.RefreshTokenRepository;
+import com.example.taskmanagment.application.ports.out.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.principal-cache.enabled=false")
+@AutoConfigureMockMvc
+class AuthControllerTest {
+    private final String REFRESH_URL = "/auth/refresh";
+    private final String LOGOUT_URL = "/auth/logout";
+    private final String FIND_USER_BY_ID_URL = "/user/{userId}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtServiceImpl jwtServiceImpl;
+
+    @MockBean
+    private UserRepository userRepository;
+    @MockBean
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private User user;
+    private UUID familyId;
+    private UUID tokenId;
+    private JwtAuthenticationDto tokens;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .username("John Doe")
+                .email("test@mail.ru")
+                .build();
+        familyId = UUID.randomUUID();
+        tokenId = UUID.randomUUID();
+        tokens = jwtServiceImpl.generateAuthToken(user, TestTokens.family(familyId, tokenId));
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void refresh_WithCurrentTokenTest() throws Exception {
+        when(refreshTokenRepository.rotate(eq(familyId), eq(tokenId), any(UUID.class), any(LocalDateTime.class))).thenReturn(true);
+        mockMvc.perform(post(REFRESH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(tokens.getRefreshToken()))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").value(not(tokens.getRefreshToken())));
+        verify(refreshTokenRepository, never()).revoke(any());
+    }
+
+    @Test
+    void refresh_WhenTokenReusedThenFamilyRevokedTest() throws Exception {
+        when(refreshTokenRepository.rotate(eq(familyId), eq(tokenId), any(UUID.class), any(LocalDateTime.class))).thenReturn(false);
+        when(refreshTokenRepository.revoke(familyId)).thenReturn(true);
+        mockMvc.perform(post(REFRESH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(tokens.getRefreshToken()))
+                )
+                .andExpect(status().isUnauthorized());
+        verify(refreshTokenRepository).revoke(familyId);
+    }
+
+    @Test
+    void refresh_WithAccessTokenTest() throws Exception {
+        mockMvc.perform(post(REFRESH_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(tokens.getToken()))
+                )
+                .andExpect(status().isUnauthorized());
+        verify(refreshTokenRepository, never()).rotate(any(), any(), any(), any());
+    }
+
+    @Test
+    void request_WithRefreshTokenInsteadOfAccessTokenTest() throws Exception {
+        mockMvc.perform(get(FIND_USER_BY_ID_URL, user.getId())
+                        .header("AUTHORIZATION", "Bearer " + tokens.getRefreshToken())
+                )
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void logout_ThenAccessTokenRejectedTest() throws Exception {
+        when(refreshTokenRepository.revoke(familyId)).thenReturn(true);
+        mockMvc.perform(get(FIND_USER_BY_ID_URL, user.getId())
+                        .header("AUTHORIZATION", "Bearer " + tokens.getToken())
+                )
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post(LOGOUT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshBody(tokens.getRefreshToken()))
+                )
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(FIND_USER_BY_ID_URL, user.getId())
+                        .header("AUTHORIZATION", "Bearer " + tokens.getToken())
+                )
+                .andExpect(status().isForbidden());
+    }
+
+    private String refreshBody(String refreshToken) throws Exception {
+        RefreshTokenDto refreshTokenDto = new RefreshTokenDto();
+        refreshTokenDto.setRefreshToken(refreshToken);
+        return objectMapper.writeValueAsString(refreshTokenDto);
+    }
+}
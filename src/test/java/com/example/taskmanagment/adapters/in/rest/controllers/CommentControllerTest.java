@@ -12,8 +12,10 @@ import com.example.taskmanagment.application.domain.models.Comment;
 import com.example.taskmanagment.application.domain.models.Task;
 import com.example.taskmanagment.application.domain.models.User;
 import com.example.taskmanagment.application.ports.out.CommentRepository;
+import com.example.taskmanagment.application.ports.out.ReactiveCommentRepository;
 import com.example.taskmanagment.application.ports.out.TaskRepository;
 import com.example.taskmanagment.application.ports.out.UserRepository;
+import com.example.taskmanagment.application.utils.mappers.CommentMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -32,14 +36,19 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.security.principal-cache.enabled=false")
 @AutoConfigureMockMvc
 class CommentControllerTest {
     private final String CREATE_COMMENT_URL = "/comment/{taskId}";
@@ -47,6 +56,8 @@ class CommentControllerTest {
 
     private final String GET_COMMENTS_BY_TASK_URL = "/comment/{taskId}";
     private final String GET_COMMENTS_BY_TASK_WITH_PARAMETERS_URL = "/comment/{taskId}?page={page}&size={size}";
+    private final String GET_COMMENTS_BY_TASK_WITH_CURSOR_URL = "/comment/{taskId}?cursor={cursor}&size={size}";
+    private final String STREAM_COMMENTS_BY_TASK_URL = "/comment/{taskId}/stream";
 
     @MockBean
     private CustomUserServiceImpl customUserService;
@@ -74,6 +85,7 @@ class CommentControllerTest {
     private Comment notOwnedComment;
 
     private List<Comment> listOfComments;
+    private List<CommentViewDTO> listOfCommentViews;
 
     private CommentUpdateDTO validCommentUpdateDTO;
     private CommentUpdateDTO invalidCommentUpdateDTO;
@@ -91,6 +103,9 @@ class CommentControllerTest {
     @MockBean
     private CommentRepository commentRepository;
 
+    @MockBean
+    private ReactiveCommentRepository reactiveCommentRepository;
+
     @BeforeEach
     void setUp() {
         taskId = UUID.randomUUID();
@@ -154,6 +169,10 @@ class CommentControllerTest {
                         .createdDate(LocalDateTime.now())
                         .build());
 
+        listOfCommentViews = listOfComments.stream()
+                .map(new CommentMapper()::commentViewDTO)
+                .toList();
+
         validCommentUpdateDTO = new CommentUpdateDTO();
         validCommentUpdateDTO.setContent("Test comment");
 
@@ -161,8 +180,8 @@ class CommentControllerTest {
         invalidCommentUpdateDTO.setContent("");
 
         Mockito.when(customUserService.loadUserByUsername(Mockito.anyString()))
-                .thenReturn(new CustomUserDetails(user));
-        token = jwtServiceImpl.generateAuthToken("test@mail.ru").getToken();
+                .thenReturn(CustomUserDetails.from(user));
+        token = TestTokens.accessToken(jwtServiceImpl, user);
     }
 
     @Test
@@ -228,8 +247,8 @@ class CommentControllerTest {
 
     @Test
     void getCommentsByTask_WithoutParamsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
-        when(commentRepository.findAllCommentsByTask(validTask)).thenReturn(listOfComments);
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findAllByTask(eq(taskId), anyInt(), anyInt())).thenReturn(listOfCommentViews);
         mockMvc.perform(get(GET_COMMENTS_BY_TASK_URL, taskId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -239,8 +258,8 @@ class CommentControllerTest {
 
     @Test
     void getCommentsByTask_WithParamsDataTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
-        when(commentRepository.findAllCommentsByTask(validTask)).thenReturn(listOfComments);
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findAllByTask(eq(taskId), anyInt(), anyInt())).thenReturn(listOfCommentViews);
         mockMvc.perform(get(GET_COMMENTS_BY_TASK_WITH_PARAMETERS_URL, taskId, "0", "5")
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -258,7 +277,7 @@ class CommentControllerTest {
 
     @Test
     void getCommentsByTask_WithoutTaskTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
         mockMvc.perform(get(GET_COMMENTS_BY_TASK_URL, taskId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -267,13 +286,57 @@ class CommentControllerTest {
 
     @Test
     void getCommentsByTask_WhenCommentsNotExists() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
-        when(commentRepository.findAllCommentsByTask(validTask)).thenReturn(Collections.emptyList());
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(commentRepository.findAllByTask(eq(taskId), anyInt(), anyInt())).thenReturn(Collections.emptyList());
         mockMvc.perform(get(GET_COMMENTS_BY_TASK_URL, taskId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getCommentsByTask_WithCursorFirstPageTest() throws Exception {
+        when(commentRepository.findAllByTaskAfter(eq(taskId), isNull(), eq(3))).thenReturn(listOfCommentViews);
+        mockMvc.perform(get(GET_COMMENTS_BY_TASK_WITH_CURSOR_URL, taskId, "", "2")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    void getCommentsByTask_WithCursorLastPageTest() throws Exception {
+        when(commentRepository.findAllByTaskAfter(eq(taskId), any(), anyInt())).thenReturn(listOfCommentViews);
+        mockMvc.perform(get(GET_COMMENTS_BY_TASK_WITH_CURSOR_URL, taskId, "", "5")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void getCommentsByTask_WithBadCursorTest() throws Exception {
+        mockMvc.perform(get(GET_COMMENTS_BY_TASK_WITH_CURSOR_URL, taskId, "not-a-cursor!!", "2")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamCommentsByTaskTest() throws Exception {
+        when(reactiveCommentRepository.findAllByTask(taskId)).thenReturn(Flux.fromIterable(listOfCommentViews));
+        MvcResult result = mockMvc.perform(get(STREAM_COMMENTS_BY_TASK_URL, taskId)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertEquals(listOfCommentViews.size(), result.getResponse().getContentAsString().lines().count());
+    }
 
-}
\ No newline at end of file
+}
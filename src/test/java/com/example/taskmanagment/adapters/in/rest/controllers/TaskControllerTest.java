@@ -3,12 +3,21 @@ package com.example.taskmanagment.adapters.in.rest.controllers;
 import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
 import com.example.taskmanagment.adapters.in.security.CustomUserServiceImpl;
 import com.example.taskmanagment.adapters.in.security.jwt.JwtServiceImpl;
+import com.example.taskmanagment.application.domain.dto.TaskAccess;
+import com.example.taskmanagment.application.domain.dto.TaskBulkChange;
+import com.example.taskmanagment.application.domain.dto.TaskBulkDeleteDTO;
+import com.example.taskmanagment.application.domain.dto.TaskBulkUpdateDTO;
+import com.example.taskmanagment.application.domain.dto.TaskChanges;
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskReassignment;
+import com.example.taskmanagment.application.domain.dto.TaskStatsDTO;
 import com.example.taskmanagment.application.domain.dto.TaskUpdateDTO;
 import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
 import com.example.taskmanagment.application.domain.enums.PriorityLevel;
 import com.example.taskmanagment.application.domain.enums.TaskStatus;
 import com.example.taskmanagment.application.domain.models.Task;
 import com.example.taskmanagment.application.domain.models.User;
+import com.example.taskmanagment.application.ports.out.ReactiveTaskRepository;
 import com.example.taskmanagment.application.ports.out.TaskRepository;
 import com.example.taskmanagment.application.ports.out.UserRepository;
 import com.example.taskmanagment.application.utils.mappers.TaskMapper;
@@ -23,30 +32,48 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.security.principal-cache.enabled=false")
 @AutoConfigureMockMvc
 class TaskControllerTest {
 
     private final String CREATE_TASK_URL = "/tasks";
+    private final String CREATE_TASKS_BULK_URL = "/tasks/bulk";
+    private final String UPDATE_TASKS_BULK_URL = "/tasks/bulk";
+    private final String DELETE_TASKS_BULK_URL = "/tasks/bulk";
     private final String MAIN_TASK_URL = "/tasks/{taskId}";
+    private final String TASK_STATS_URL = "/tasks/stats";
+    private final String SEARCH_TASKS_URL = "/tasks/search?q={q}&status={status}";
     private final String CHANGE_TASK_STATUS_URL = "/tasks/{taskId}/status?status={status}";
+    private final String CHANGE_TASK_STATUS_WITH_VERSION_URL = "/tasks/{taskId}/status?status={status}&version={version}";
     private final String CHANGE_TASK_ASSIGNEE_URL = "/tasks/{taskId}/assignee?assignee={assignee}";
 
     private final String GET_TASKS_BY_AUTHOR_WITH_PARAMS_URL = "/tasks/{userID}/created?status={status}&priority={priority}&page={page}&size={size}";
     private final String GET_TASKS_BY_AUTHOR_URL = "/tasks/{userID}/created";
     private final String GET_TASKS_BY_ASSIGNEE_WITH_PARAMS_URL = "/tasks/{userID}/perform?status={status}&priority={priority}&page={page}&size={size}";
     private final String GET_TASKS_BY_ASSIGNEE_URL = "/tasks/{userID}/perform";
+    private final String GET_TASKS_BY_AUTHOR_WITH_CURSOR_URL = "/tasks/{userID}/created?cursor={cursor}&size={size}";
+    private final String GET_TASKS_BY_ASSIGNEE_WITH_CURSOR_URL = "/tasks/{userID}/perform?cursor={cursor}&size={size}";
+    private final String TASK_EVENTS_URL = "/tasks/events";
+    private final String STREAM_TASKS_BY_AUTHOR_URL = "/tasks/{userID}/created/stream?status={status}";
     @MockBean
     private CustomUserServiceImpl customUserService;
     @Autowired
@@ -73,6 +100,7 @@ class TaskControllerTest {
     private Task notOwnedTask;
 
     private List<Task> listOfTasks;
+    private List<TaskViewDTO> listOfTaskViews;
     private UUID userId;
     private UUID taskId;
     private String email;
@@ -82,6 +110,8 @@ class TaskControllerTest {
 
     @MockBean
     private TaskRepository taskRepository;
+    @MockBean
+    private ReactiveTaskRepository reactiveTaskRepository;
 
 
 
@@ -139,6 +169,8 @@ class TaskControllerTest {
 
         listOfTasks = List.of(
                 Task.builder()
+                        .id(UUID.randomUUID())
+                        .createdDate(LocalDateTime.now().minusMinutes(1))
                         .title("Test waiting")
                         .author(user)
                         .assignee(user)
@@ -146,6 +178,8 @@ class TaskControllerTest {
                         .priority(PriorityLevel.LOW)
                 .build(),
                 Task.builder()
+                        .id(UUID.randomUUID())
+                        .createdDate(LocalDateTime.now().minusMinutes(2))
                         .title("Test waiting")
                         .author(user)
                         .assignee(user)
@@ -153,6 +187,8 @@ class TaskControllerTest {
                         .priority(PriorityLevel.MEDIUM)
                 .build(),
                 Task.builder()
+                        .id(UUID.randomUUID())
+                        .createdDate(LocalDateTime.now().minusMinutes(3))
                         .title("Test waiting")
                         .author(user)
                         .assignee(user)
@@ -161,9 +197,13 @@ class TaskControllerTest {
                 .build()
         );
 
+        listOfTaskViews = listOfTasks.stream()
+                .map(new TaskMapper()::toTaskDto)
+                .toList();
+
         Mockito.when(customUserService.loadUserByUsername(Mockito.anyString()))
-                .thenReturn(new CustomUserDetails(user));
-        token = jwtServiceImpl.generateAuthToken("test@mail.ru").getToken();
+                .thenReturn(CustomUserDetails.from(user));
+        token = TestTokens.accessToken(jwtServiceImpl, user);
 
     }
 
@@ -197,11 +237,139 @@ class TaskControllerTest {
                 )
                 .andExpect(status().isNotFound());
     }
+    @Test
+    void createTasks_WhenSomeDataNotValidTest() throws Exception {
+        when(userRepository.findAllByEmailIn(anyCollection())).thenReturn(List.of(user));
+        doNothing().when(taskRepository).saveAll(anyList());
+        mockMvc.perform(post(CREATE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(List.of(validTaskUpdateDTO, notValidTaskUpdateDTO, validTaskUpdateDTO)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].created").value(true))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].created").value(false))
+                .andExpect(jsonPath("$[2].created").value(true));
+        verify(taskRepository, times(1)).saveAll(anyList());
+    }
+    @Test
+    void createTasks_WhenAssigneeNotFoundTest() throws Exception {
+        when(userRepository.findAllByEmailIn(anyCollection())).thenReturn(Collections.emptyList());
+        mockMvc.perform(post(CREATE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(List.of(validTaskUpdateDTO)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].created").value(false))
+                .andExpect(jsonPath("$[0].error").value("Assignee not found"));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+    @Test
+    void createTasks_WhenListContainsNullTest() throws Exception {
+        mockMvc.perform(post(CREATE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content("[" + objectMapper.writeValueAsString(validTaskUpdateDTO) + ", null]")
+                )
+                .andExpect(status().isBadRequest());
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+    @Test
+    void updateTasks_WhenIdsAndStatusPassedTest() throws Exception {
+        TaskBulkUpdateDTO update = TaskBulkUpdateDTO.builder()
+                .ids(List.of(taskId))
+                .status(TaskStatus.COMPLETED)
+                .build();
+        when(taskRepository.updateAll(isNull(), eq(List.of(taskId)), eq(userId), eq(new TaskChanges(TaskStatus.COMPLETED, null, null))))
+                .thenReturn(new TaskBulkChange(1, Set.of(userId)));
+        mockMvc.perform(patch(UPDATE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(update))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+        verify(taskRepository, never()).findById(any(UUID.class));
+    }
+    @Test
+    void updateTasks_WhenNoIdsAndFilterTest() throws Exception {
+        TaskBulkUpdateDTO update = TaskBulkUpdateDTO.builder()
+                .status(TaskStatus.COMPLETED)
+                .build();
+        mockMvc.perform(patch(UPDATE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(update))
+                )
+                .andExpect(status().isBadRequest());
+        verify(taskRepository, never()).updateAll(any(), any(), any(), any());
+    }
+    @Test
+    void updateTasks_WhenAssigneeNotFoundTest() throws Exception {
+        TaskBulkUpdateDTO update = TaskBulkUpdateDTO.builder()
+                .filter(TaskFilter.byAuthor(userId, TaskStatus.WAITING, null))
+                .assigneeEmail(newEmail)
+                .build();
+        when(userRepository.findByEmail(newEmail)).thenReturn(Optional.empty());
+        mockMvc.perform(patch(UPDATE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(update))
+                )
+                .andExpect(status().isNotFound());
+    }
+
+
+    @Test
+    void getTaskStats_Test() throws Exception {
+        TaskStatsDTO stats = new TaskStatsDTO();
+        stats.addAuthored(TaskStatus.WAITING, PriorityLevel.LOW, 2);
+        stats.addAuthored(TaskStatus.COMPLETED, PriorityLevel.LOW, 1);
+        stats.addAssigned(TaskStatus.WAITING, PriorityLevel.HIGH, 4);
+        when(taskRepository.countByUser(userId)).thenReturn(stats);
+        mockMvc.perform(get(TASK_STATS_URL)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authoredTotal").value(3))
+                .andExpect(jsonPath("$.assignedTotal").value(4))
+                .andExpect(jsonPath("$.authored.WAITING.LOW").value(2));
+    }
+    @Test
+    void getTaskStats_WhenTokenSelfContainedThenUserNotLoadedTest() throws Exception {
+        when(taskRepository.countByUser(userId)).thenReturn(new TaskStatsDTO());
+        mockMvc.perform(get(TASK_STATS_URL)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk());
+        verify(customUserService, never()).loadUserByUsername(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+    @Test
+    void searchTasks_WhenQueryPassedTest() throws Exception {
+        when(taskRepository.search(userId, "test wait", TaskStatus.WAITING, null, 0, 10)).thenReturn(listOfTaskViews.subList(0, 1));
+        mockMvc.perform(get(SEARCH_TASKS_URL, "test wait", TaskStatus.WAITING)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+    @Test
+    void searchTasks_WhenQueryBlankTest() throws Exception {
+        mockMvc.perform(get(SEARCH_TASKS_URL, " ", TaskStatus.WAITING)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isBadRequest());
+        verify(taskRepository, never()).search(any(), any(), any(), any(), anyInt(), anyInt());
+    }
 
 
     @Test
     void getTask_WhenTaskExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
+        when(taskRepository.findViewById(taskId)).thenReturn(Optional.of(new TaskMapper().toTaskDto(validTask)));
         mockMvc.perform(get(MAIN_TASK_URL, taskId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("AUTHORIZATION", "Bearer " + token)
@@ -210,7 +378,7 @@ class TaskControllerTest {
     }
     @Test
     void getTask_WhenTaskNotExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findViewById(taskId)).thenReturn(Optional.empty());
         mockMvc.perform(get(MAIN_TASK_URL, taskId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("AUTHORIZATION", "Bearer " + token)
@@ -287,15 +455,17 @@ class TaskControllerTest {
 
     @Test
     void deleteTask_WhenTaskExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
+        when(taskRepository.deleteByIdAndAuthor(taskId, userId)).thenReturn(Optional.of(new TaskAccess(userId, null, 0L)));
         mockMvc.perform(delete(MAIN_TASK_URL, taskId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
                 .andExpect(status().isNoContent());
+        verify(taskRepository, never()).findAccessById(any(UUID.class));
     }
     @Test
     void deleteTask_WhenTaskNotExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.deleteByIdAndAuthor(taskId, userId)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(false);
         mockMvc.perform(delete(MAIN_TASK_URL, taskId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -303,28 +473,56 @@ class TaskControllerTest {
     }
     @Test
     void deleteTask_WhenUserNotHavePermissionTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(notOwnedTask));
+        when(taskRepository.deleteByIdAndAuthor(taskId, userId)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(taskId)).thenReturn(true);
         mockMvc.perform(delete(MAIN_TASK_URL, taskId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
                 .andExpect(status().isForbidden());
     }
+    @Test
+    void deleteTasks_WhenFilterPassedTest() throws Exception {
+        TaskFilter filter = TaskFilter.byAuthor(userId, TaskStatus.COMPLETED, null);
+        when(taskRepository.deleteAll(eq(filter), isNull(), eq(userId))).thenReturn(new TaskBulkChange(3, Set.of(userId)));
+        mockMvc.perform(delete(DELETE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(TaskBulkDeleteDTO.builder().filter(filter).build()))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+    }
+    @Test
+    void deleteTasks_WhenNoIdsAndFilterTest() throws Exception {
+        mockMvc.perform(delete(DELETE_TASKS_BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(new TaskBulkDeleteDTO()))
+                )
+                .andExpect(status().isBadRequest());
+        verify(taskRepository, never()).deleteAll(any(), any(), any());
+    }
 
 
     @Test
     void changeStatus_WhenTaskExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
-        doNothing().when(taskRepository).save(any(Task.class));
+        TaskViewDTO changedTask = new TaskMapper().toTaskDto(validTask);
+        changedTask.setStatus(TaskStatus.IN_PROGRESS);
+        when(taskRepository.updateStatus(taskId, userId, null, TaskStatus.IN_PROGRESS)).thenReturn(Optional.of(new TaskAccess(userId, userId, 1L)));
+        when(taskRepository.findViewById(taskId)).thenReturn(Optional.of(changedTask));
         mockMvc.perform(patch(CHANGE_TASK_STATUS_URL, taskId, "IN_PROGRESS")
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("status").value(TaskStatus.IN_PROGRESS.getName()));
+        verify(taskRepository, never()).findById(any(UUID.class));
+        verify(taskRepository, never()).findAccessById(any(UUID.class));
+        verify(taskRepository, never()).save(any(Task.class));
     }
     @Test
     void changeStatus_WhenTaskNotExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
-        doNothing().when(taskRepository).save(any(Task.class));
+        when(taskRepository.updateStatus(taskId, userId, null, TaskStatus.COMPLETED)).thenReturn(Optional.empty());
+        when(taskRepository.findAccessById(taskId)).thenReturn(Optional.empty());
         mockMvc.perform(patch(CHANGE_TASK_STATUS_URL, taskId, TaskStatus.COMPLETED)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -332,29 +530,40 @@ class TaskControllerTest {
     }
     @Test
     void changeStatus_WhenTaskExistsAndUserNotHasPermissionsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(notOwnedTask));
-        doNothing().when(taskRepository).save(any(Task.class));
+        when(taskRepository.updateStatus(taskId, userId, null, TaskStatus.COMPLETED)).thenReturn(Optional.empty());
+        when(taskRepository.findAccessById(taskId)).thenReturn(Optional.of(new TaskAccess(UUID.randomUUID(), UUID.randomUUID(), 0L)));
         mockMvc.perform(patch(CHANGE_TASK_STATUS_URL, taskId, TaskStatus.COMPLETED)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
                 .andExpect(status().isForbidden());
     }
+    @Test
+    void changeStatus_WhenVersionIsStaleTest() throws Exception {
+        when(taskRepository.updateStatus(taskId, userId, 1L, TaskStatus.COMPLETED)).thenReturn(Optional.empty());
+        when(taskRepository.findAccessById(taskId)).thenReturn(Optional.of(new TaskAccess(userId, null, 2L)));
+        mockMvc.perform(patch(CHANGE_TASK_STATUS_WITH_VERSION_URL, taskId, TaskStatus.COMPLETED, 1L)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isConflict());
+    }
 
 
     @Test
     void changeAssignee_WhenTaskExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
-        when(userRepository.findByEmail(newEmail)).thenReturn(Optional.of(user));
-        doNothing().when(taskRepository).save(any(Task.class));
+        when(taskRepository.updateAssignee(taskId, userId, null, newEmail))
+                .thenReturn(Optional.of(new TaskReassignment(userId, null, userId)));
+        when(taskRepository.findViewById(taskId)).thenReturn(Optional.of(new TaskMapper().toTaskDto(validTask)));
         mockMvc.perform(patch(CHANGE_TASK_ASSIGNEE_URL, taskId, newEmail)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("assigneeEmail").value(user.getEmail()));
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).findAccessById(any(UUID.class));
     }
     @Test
     void changeAssignee_WhenTaskNotExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findAccessById(taskId)).thenReturn(Optional.empty());
         mockMvc.perform(patch(CHANGE_TASK_ASSIGNEE_URL, taskId, newEmail)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -362,7 +571,7 @@ class TaskControllerTest {
     }
     @Test
     void changeAssignee_WhenTaskExistsButUserForAssigneeNotExistsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(validTask));
+        when(taskRepository.findAccessById(taskId)).thenReturn(Optional.of(new TaskAccess(userId, null, 0L)));
         when(userRepository.findByEmail(newEmail)).thenReturn(Optional.empty());
         mockMvc.perform(patch(CHANGE_TASK_ASSIGNEE_URL, taskId, newEmail)
                         .header("AUTHORIZATION", "Bearer " + token)
@@ -371,7 +580,7 @@ class TaskControllerTest {
     }
     @Test
     void changeAssignee_WhenTaskExistsButUserNotHasPermissionsTest() throws Exception {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(notOwnedTask));
+        when(taskRepository.findAccessById(taskId)).thenReturn(Optional.of(new TaskAccess(UUID.randomUUID(), userId, 0L)));
         mockMvc.perform(patch(CHANGE_TASK_ASSIGNEE_URL, taskId, newEmail)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -382,7 +591,7 @@ class TaskControllerTest {
     @Test
     void getTasksByAuthor_WithEmptyParamsTest() throws Exception {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(taskRepository.findAllByAuthor(user)).thenReturn(listOfTasks);
+        when(taskRepository.findAll(any(TaskFilter.class), anyInt(), anyInt())).thenReturn(listOfTaskViews);
         mockMvc.perform(get(GET_TASKS_BY_AUTHOR_URL, userId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -392,7 +601,7 @@ class TaskControllerTest {
     @Test
     void getTasksByAuthor_WithFiltersAndPaginationTest() throws Exception {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(taskRepository.findAllByAuthor(user)).thenReturn(listOfTasks);
+        when(taskRepository.findAll(any(TaskFilter.class), anyInt(), anyInt())).thenReturn(listOfTaskViews);
         mockMvc.perform(get(GET_TASKS_BY_AUTHOR_WITH_PARAMS_URL, userId, "COMPLETED", "HIGH", "0", "1")
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -424,7 +633,7 @@ class TaskControllerTest {
     @Test
     void getTasksByAuthor_WhenTasksNotExistsTest() throws Exception {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(taskRepository.findAllByAuthor(user)).thenReturn(Collections.emptyList());
+        when(taskRepository.findAll(any(TaskFilter.class), anyInt(), anyInt())).thenReturn(Collections.emptyList());
         mockMvc.perform(get(GET_TASKS_BY_AUTHOR_URL, userId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -435,7 +644,7 @@ class TaskControllerTest {
     @Test
     void getTasksByAssignee_WithoutParamsTest() throws Exception {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(taskRepository.findAllByAssignee(user)).thenReturn(listOfTasks);
+        when(taskRepository.findAll(any(TaskFilter.class), anyInt(), anyInt())).thenReturn(listOfTaskViews);
         mockMvc.perform(get(GET_TASKS_BY_ASSIGNEE_URL, userId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -445,7 +654,7 @@ class TaskControllerTest {
     @Test
     void getTasksByAssignee_WithParamsTest() throws Exception {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(taskRepository.findAllByAssignee(user)).thenReturn(listOfTasks);
+        when(taskRepository.findAll(any(TaskFilter.class), anyInt(), anyInt())).thenReturn(listOfTaskViews);
         mockMvc.perform(get(GET_TASKS_BY_ASSIGNEE_WITH_PARAMS_URL, userId, "COMPLETED", "HIGH", "0", "1")
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -478,7 +687,7 @@ class TaskControllerTest {
     @Test
     void getTasksByAssignee_WhenTasksNotExistTest() throws Exception {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(taskRepository.findAllByAssignee(user)).thenReturn(Collections.emptyList());
+        when(taskRepository.findAll(any(TaskFilter.class), anyInt(), anyInt())).thenReturn(Collections.emptyList());
         mockMvc.perform(get(GET_TASKS_BY_ASSIGNEE_URL, userId)
                         .header("AUTHORIZATION", "Bearer " + token)
                 )
@@ -486,4 +695,99 @@ class TaskControllerTest {
     }
 
 
-}
\ No newline at end of file
+    @Test
+    void getTasksByAuthor_WithCursorFirstPageTest() throws Exception {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(taskRepository.findAllAfter(any(TaskFilter.class), isNull(), eq(3))).thenReturn(listOfTaskViews);
+        mockMvc.perform(get(GET_TASKS_BY_AUTHOR_WITH_CURSOR_URL, userId, "", "2")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+    @Test
+    void getTasksByAuthor_WithBadCursorTest() throws Exception {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        mockMvc.perform(get(GET_TASKS_BY_AUTHOR_WITH_CURSOR_URL, userId, "not-a-cursor!!", "2")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isBadRequest());
+    }
+    @Test
+    void getTasksByAssignee_WithCursorLastPageTest() throws Exception {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(taskRepository.findAllAfter(any(TaskFilter.class), any(), anyInt())).thenReturn(listOfTaskViews.subList(0, 1));
+        mockMvc.perform(get(GET_TASKS_BY_ASSIGNEE_WITH_CURSOR_URL, userId, "", "2")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+    @Test
+    void getTasksByAssignee_WhenAssigneeNotExistWithCursorTest() throws Exception {
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        mockMvc.perform(get(GET_TASKS_BY_ASSIGNEE_WITH_CURSOR_URL, userId, "", "2")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamTasksByAuthorTest() throws Exception {
+        when(reactiveTaskRepository.findAll(TaskFilter.byAuthor(userId, TaskStatus.WAITING, null)))
+                .thenReturn(Flux.fromIterable(listOfTaskViews));
+        MvcResult result = mockMvc.perform(get(STREAM_TASKS_BY_AUTHOR_URL, userId, "WAITING")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+        assertEquals(listOfTaskViews.size(), result.getResponse().getContentAsString().lines().count());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void streamTasksByAuthor_WithBadUserIdTest() throws Exception {
+        mockMvc.perform(get(STREAM_TASKS_BY_AUTHOR_URL, "not-a-uuid", "WAITING")
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void subscribeToTaskEvents_WhenTaskCreatedThenEventSentTest() throws Exception {
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        doNothing().when(taskRepository).save(any(Task.class));
+        MvcResult result = mockMvc.perform(get(TASK_EVENTS_URL)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post(CREATE_TASK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("AUTHORIZATION", "Bearer " + token)
+                        .content(objectMapper.writeValueAsString(validTaskUpdateDTO))
+                )
+                .andExpect(status().isCreated());
+
+        // События отправляются отдельным потоком
+        long deadline = System.currentTimeMillis() + 5000;
+        String events = result.getResponse().getContentAsString();
+        while (!events.contains("event:TASK_CREATED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = result.getResponse().getContentAsString();
+        }
+        assertTrue(events.contains("event:TASK_CREATED"));
+        assertTrue(events.contains("\"title\":\"test title2\""));
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.example.taskmanagment.adapters.in.rest.controllers;
+
+import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
+import com.example.taskmanagment.adapters.in.security.CustomUserServiceImpl;
+import com.example.taskmanagment.adapters.in.security.jwt.JwtServiceImpl;
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.domain.models.User;
+import com.example.taskmanagment.application.ports.out.ReactiveTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import reactor.core.publisher.Flux;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Медленные клиенты потокового эндпоинта не должны занимать потоки, нужные остальным ответам.
+ * Клиентов больше, чем потоков в applicationTaskExecutor по умолчанию (8)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.security.principal-cache.enabled=false", "app.rate-limit.enabled=false"})
+class TaskStreamSlowClientTest {
+    private static final String STREAM_URL = "/tasks/%s/created/stream";
+    private static final int SLOW_CLIENTS = 12;
+
+    @LocalServerPort
+    private int port;
+    @MockBean
+    private CustomUserServiceImpl customUserService;
+    @MockBean
+    private ReactiveTaskRepository reactiveTaskRepository;
+    @Autowired
+    private JwtServiceImpl jwtServiceImpl;
+
+    private final List<Socket> slowClients = new ArrayList<>();
+    private UUID slowAuthorId;
+    private UUID authorId;
+    private TaskViewDTO taskView;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        slowAuthorId = UUID.randomUUID();
+        authorId = UUID.randomUUID();
+        User user = User.builder()
+                .id(authorId)
+                .username("John Doe")
+                .email("test@mail.ru")
+                .build();
+        taskView = TaskViewDTO.builder()
+                .id(UUID.randomUUID())
+                .title("test title")
+                .description("x".repeat(500))
+                .status(TaskStatus.WAITING)
+                .priority(PriorityLevel.LOW)
+                .authorEmail(user.getEmail())
+                .createdDate(LocalDateTime.now())
+                .version(0L)
+                .build();
+
+        Mockito.when(customUserService.loadUserByUsername(Mockito.anyString()))
+                .thenReturn(CustomUserDetails.from(user));
+        token = TestTokens.accessToken(jwtServiceImpl, user);
+    }
+
+    @AfterEach
+    void closeSlowClients() throws Exception {
+        for (Socket socket : slowClients) {
+            socket.close();
+        }
+    }
+
+    @Test
+    void streamTasks_WhenOtherClientsReadSlowlyTest() throws Exception {
+        // Десятки мегабайт на клиента: буферы сокетов заполняются, и запись на сервере блокируется
+        when(reactiveTaskRepository.findAll(TaskFilter.byAuthor(slowAuthorId, null, null)))
+                .thenReturn(Flux.range(0, 50_000).map(i -> taskView));
+        when(reactiveTaskRepository.findAll(TaskFilter.byAuthor(authorId, null, null)))
+                .thenReturn(Flux.just(taskView, taskView));
+
+        for (int i = 0; i < SLOW_CLIENTS; i++) {
+            Socket socket = new Socket("localhost", port);
+            socket.setReceiveBufferSize(1024);
+            slowClients.add(socket);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + STREAM_URL.formatted(slowAuthorId) + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Accept: application/x-ndjson\r\n"
+                    + "Authorization: Bearer " + token + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            // Ответ не читается
+        }
+        Thread.sleep(500);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + STREAM_URL.formatted(authorId)))
+                .header("Accept", "application/x-ndjson")
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, response.body().lines().count());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanagment.adapters.in.rest.controllers;
+
+import com.example.taskmanagment.adapters.in.security.jwt.JwtServiceImpl;
+import com.example.taskmanagment.application.domain.models.RefreshTokenFamily;
+import com.example.taskmanagment.application.domain.models.User;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Токены для тестов контроллеров. Семейство токенов обновления не сохраняется: фильтр проверяет только access-токен
+ */
+final class TestTokens {
+
+    private TestTokens() {
+    }
+
+    static String accessToken(JwtServiceImpl jwtService, User user) {
+        return jwtService.generateAuthToken(user, family(UUID.randomUUID(), UUID.randomUUID())).getToken();
+    }
+
+    static RefreshTokenFamily family(UUID familyId, UUID tokenId) {
+        return RefreshTokenFamily.builder()
+                .id(familyId)
+                .currentTokenId(tokenId)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+}
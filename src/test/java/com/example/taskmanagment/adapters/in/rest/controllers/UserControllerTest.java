@@ -32,7 +32,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Optional;
 import java.util.UUID;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.security.principal-cache.enabled=false")
 @AutoConfigureMockMvc
 class UserControllerTest {
     private final String FIND_USER_BY_EMAIL_URL = "/user/email/{email}";
@@ -66,11 +66,11 @@ class UserControllerTest {
     @BeforeEach
     void setUp() {
         Mockito.when(customUserService.loadUserByUsername(Mockito.anyString()))
-                .thenReturn(new CustomUserDetails(User.builder()
+                .thenReturn(CustomUserDetails.from(User.builder()
                         .email("test@mail.ru")
                         .password(passwordEncoder.encode("test"))
                         .build()));
-        token = jwtServiceImpl.generateAuthToken("test@mail.ru").getToken();
+        token = TestTokens.accessToken(jwtServiceImpl, User.builder().email("test@mail.ru").build());
 
         userId = UUID.randomUUID();
         email = "john.doe@example.com";
@@ -0,0 +1,248 @@
+package com.example.taskmanagment.adapters.in.rest.sse;
+
+import com.example.taskmanagment.application.domain.dto.TaskEventDTO;
+import com.example.taskmanagment.application.domain.enums.TaskEventType;
+import com.example.taskmanagment.application.domain.events.TaskEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskEventBroadcasterTest {
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private SimpleMeterRegistry registry;
+    private TaskEventBroadcaster broadcaster;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    void onTaskEvent_WhenQueueOverflowsThenSubscriberDroppedTest() throws Exception {
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), TIMEOUT, 2, 5, registry);
+        StubEmitter emitter = StubEmitter.blocking();
+        broadcaster.subscribe(userId, emitter);
+        // Поток отправки завис на первом сообщении, очередь пуста
+        assertTrue(emitter.entered.await(5, TimeUnit.SECONDS));
+
+        broadcaster.onTaskEvent(event(userId));
+        broadcaster.onTaskEvent(event(userId));
+        broadcaster.onTaskEvent(event(userId));
+
+        await(() -> emitter.completed);
+        assertEquals(1.0, registry.get("sse.dropped").counter().count());
+        assertEquals(0.0, registry.get("sse.connections").gauge().value());
+
+        emitter.release.countDown();
+        broadcaster.onTaskEvent(event(userId));
+        Thread.sleep(100);
+        assertFalse(emitter.received().contains("TASK_CREATED"));
+    }
+
+    @Test
+    void subscribe_WhenConnectionLimitExceededThenOldestClosedTest() throws Exception {
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), TIMEOUT, 16, 2, registry);
+        StubEmitter oldest = StubEmitter.immediate();
+        StubEmitter middle = StubEmitter.immediate();
+        StubEmitter newest = StubEmitter.immediate();
+        broadcaster.subscribe(userId, oldest);
+        broadcaster.subscribe(userId, middle);
+        broadcaster.subscribe(userId, newest);
+
+        await(() -> oldest.completed);
+        assertEquals(2.0, registry.get("sse.connections").gauge().value());
+        assertEquals(0.0, registry.get("sse.dropped").counter().count());
+
+        broadcaster.onTaskEvent(event(userId));
+        assertTrue(middle.awaitMessage("event:TASK_CREATED"));
+        assertTrue(newest.awaitMessage("event:TASK_CREATED"));
+        assertFalse(oldest.received().contains("TASK_CREATED"));
+        assertFalse(middle.completed);
+        assertFalse(newest.completed);
+    }
+
+    @Test
+    void onTaskEvent_WhenUserNotRecipientThenNotSentTest() throws Exception {
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), TIMEOUT, 16, 5, registry);
+        StubEmitter emitter = StubEmitter.immediate();
+        broadcaster.subscribe(userId, emitter);
+        assertTrue(emitter.awaitMessage("connected"));
+
+        broadcaster.onTaskEvent(event(UUID.randomUUID()));
+        Thread.sleep(100);
+
+        assertFalse(emitter.received().contains("TASK_CREATED"));
+    }
+
+    @Test
+    void heartbeat_SentToAllSubscribersTest() throws Exception {
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), TIMEOUT, 16, 5, registry);
+        StubEmitter first = StubEmitter.immediate();
+        StubEmitter second = StubEmitter.immediate();
+        broadcaster.subscribe(userId, first);
+        broadcaster.subscribe(UUID.randomUUID(), second);
+
+        broadcaster.heartbeat();
+
+        assertTrue(first.awaitMessage(":heartbeat"));
+        assertTrue(second.awaitMessage(":heartbeat"));
+        assertEquals(2.0, registry.get("sse.connections").gauge().value());
+    }
+
+    @Test
+    void onTaskEvent_WhenTransactionRolledBackThenNotSentTest() throws Exception {
+        broadcaster = new TaskEventBroadcaster(new ObjectMapper(), TIMEOUT, 16, 5, registry);
+        StubEmitter emitter = StubEmitter.immediate();
+        broadcaster.subscribe(userId, emitter);
+        assertTrue(emitter.awaitMessage("connected"));
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(TransactionalEventListenerFactory.class);
+            context.registerBean(TaskEventBroadcaster.class, () -> broadcaster);
+            context.refresh();
+            TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+
+            transaction.executeWithoutResult(status -> {
+                context.publishEvent(event(userId, TaskEventType.TASK_DELETED));
+                status.setRollbackOnly();
+            });
+            transaction.executeWithoutResult(status -> context.publishEvent(event(userId, TaskEventType.TASK_CREATED)));
+
+            assertTrue(emitter.awaitMessage("event:TASK_CREATED"));
+            assertFalse(emitter.received().contains("TASK_DELETED"));
+        }
+    }
+
+    private static TaskEvent event(UUID recipientId) {
+        return event(recipientId, TaskEventType.TASK_CREATED);
+    }
+
+    private static TaskEvent event(UUID recipientId, TaskEventType type) {
+        return new TaskEvent(Set.of(recipientId), TaskEventDTO.builder()
+                .type(type)
+                .taskId(UUID.randomUUID())
+                .build());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Эмиттер без HTTP-ответа: запоминает отправленные сообщения и при необходимости блокирует отправку,
+     * как медленный клиент
+     */
+    private static class StubEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile boolean completed;
+
+        private StubEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        static StubEmitter immediate() {
+            return new StubEmitter(new CountDownLatch(0));
+        }
+
+        static StubEmitter blocking() {
+            return new StubEmitter(new CountDownLatch(1));
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String received() {
+            return String.join("", List.copyOf(sent));
+        }
+
+        boolean awaitMessage(String fragment) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!received().contains(fragment)) {
+                if (System.currentTimeMillis() > deadline) {
+                    return false;
+                }
+                Thread.sleep(20);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Менеджер транзакций без ресурсов: нужен только для синхронизаций, на которых работает @TransactionalEventListener
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmanagment.adapters.in.security;
+
+import com.example.taskmanagment.adapters.in.rest.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    @Test
+    void matches_WhenPasswordEncodedByHasherTest() {
+        PasswordHasher hasher = hasher(new BCryptPasswordEncoder(4), 4, 1, 10, new SimpleMeterRegistry());
+
+        String encoded = hasher.encode("password");
+
+        assertTrue(hasher.matches("password", encoded));
+        assertFalse(hasher.matches("other", encoded));
+    }
+
+    @Test
+    void needsRehash_WhenStoredCostDiffersTest() {
+        PasswordHasher hasher = hasher(new BCryptPasswordEncoder(5), 5, 1, 10, new SimpleMeterRegistry());
+
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("password")));
+    }
+
+    @Test
+    void matches_WhenPoolSaturatedThenRejectedTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = hasher(slowEncoder, 4, 1, 0, registry);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> hasher.matches("password", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class,
+                () -> hasher.matches("password", "hash"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+    }
+
+    private static PasswordHasher hasher(PasswordEncoder encoder, int strength, int threads, int queueCapacity, SimpleMeterRegistry registry) {
+        return new PasswordHasher(encoder, strength, threads, queueCapacity, 5000, 1, registry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.taskmanagment.adapters.in.security;
+
+import com.example.taskmanagment.application.domain.events.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrincipalCacheTest {
+    private static final String EMAIL = "test@mail.ru";
+
+    private AtomicInteger loads;
+    private Function<String, CustomUserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return new CustomUserDetails(UUID.randomUUID(), email, "Test", null);
+        };
+    }
+
+    @Test
+    void get_WhenCachedThenLoadsOnceTest() {
+        PrincipalCache cache = new PrincipalCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        CustomUserDetails first = cache.get(EMAIL, loader);
+        CustomUserDetails second = cache.get(EMAIL, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenUserChangedThenLoadsAgainTest() {
+        PrincipalCache cache = new PrincipalCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        cache.get(EMAIL, loader);
+        cache.onUserChanged(new UserChangedEvent(EMAIL));
+        cache.get(EMAIL, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenUserChangedDuringLoadThenStaleNotCachedTest() {
+        PrincipalCache cache = new PrincipalCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        // Изменение пользователя коммитится, пока загрузка ещё не завершилась
+        Function<String, CustomUserDetails> racingLoader = email -> {
+            CustomUserDetails stale = loader.apply(email);
+            cache.onUserChanged(new UserChangedEvent(email));
+            return stale;
+        };
+
+        CustomUserDetails stale = cache.get(EMAIL, racingLoader);
+        CustomUserDetails fresh = cache.get(EMAIL, loader);
+
+        assertNotSame(stale, fresh);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenLoaderFailsThenNotCachedTest() {
+        PrincipalCache cache = new PrincipalCache(true, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> cache.get(EMAIL, email -> {
+            throw new IllegalStateException("User not found");
+        }));
+        cache.get(EMAIL, loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenDisabledThenLoadsEveryTimeTest() {
+        PrincipalCache cache = new PrincipalCache(false, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        cache.get(EMAIL, loader);
+        cache.get(EMAIL, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_RecordsHitAndMissMetricsTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PrincipalCache cache = new PrincipalCache(true, 100, Duration.ofMinutes(5), registry);
+
+        cache.get(EMAIL, loader);
+        cache.get(EMAIL, loader);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "principals").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "principals").tag("result", "miss").functionCounter().count());
+    }
+}
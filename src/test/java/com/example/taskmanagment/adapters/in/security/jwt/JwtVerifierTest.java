@@ -0,0 +1,72 @@
+package com.example.taskmanagment.adapters.in.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtVerifierTest {
+    private SecretKey key;
+    private JwtVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        key = Jwts.SIG.HS256.key().build();
+        verifier = new JwtVerifier(key, 100);
+    }
+
+    @Test
+    void verify_WhenTokenValidTest() {
+        Optional<Claims> claims = verifier.verify(token(key, TimeUnit.HOURS.toMillis(1)));
+
+        assertTrue(claims.isPresent());
+        assertEquals("test@mail.ru", claims.get().getSubject());
+    }
+
+    @Test
+    void verify_WhenVerifiedBeforeThenReturnsCachedClaimsTest() {
+        String token = token(key, TimeUnit.HOURS.toMillis(1));
+
+        Claims first = verifier.verify(token).orElseThrow();
+        Claims second = verifier.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void verify_WhenSignedWithOtherKeyTest() {
+        String token = token(Jwts.SIG.HS256.key().build(), TimeUnit.HOURS.toMillis(1));
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_WhenTokenExpiredTest() {
+        String token = token(key, -TimeUnit.MINUTES.toMillis(1));
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_WhenTokenMalformedTest() {
+        assertTrue(verifier.verify("not-a-token").isEmpty());
+    }
+
+    private static String token(SecretKey signKey, long expiresInMillis) {
+        return Jwts.builder()
+                .subject("test@mail.ru")
+                .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(signKey)
+                .compact();
+    }
+}
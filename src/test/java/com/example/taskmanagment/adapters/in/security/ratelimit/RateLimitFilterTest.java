@@ -0,0 +1,95 @@
+package com.example.taskmanagment.adapters.in.security.ratelimit;
+
+import com.example.taskmanagment.adapters.in.security.CustomUserDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Group lists = new RateLimitProperties.Group();
+        lists.setPatterns(List.of("/tasks/*/created"));
+        lists.setMethods(List.of("GET"));
+        lists.setLimit(2);
+        lists.setPeriod(Duration.ofMinutes(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("task-lists", lists);
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+        authenticate(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WhenLimitExceededThenTooManyRequestsTest() throws Exception {
+        assertEquals(200, perform("GET", "/tasks/" + UUID.randomUUID() + "/created").getStatus());
+        assertEquals(200, perform("GET", "/tasks/" + UUID.randomUUID() + "/created").getStatus());
+
+        MockHttpServletResponse response = perform("GET", "/tasks/" + UUID.randomUUID() + "/created");
+
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_WhenOtherUserThenSeparateBucketTest() throws Exception {
+        String uri = "/tasks/" + UUID.randomUUID() + "/created";
+        perform("GET", uri);
+        perform("GET", uri);
+
+        authenticate(UUID.randomUUID());
+
+        assertEquals(200, perform("GET", uri).getStatus());
+    }
+
+    @Test
+    void doFilter_WhenRouteNotInGroupThenNotLimitedTest() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = perform("PATCH", "/tasks/" + UUID.randomUUID() + "/created");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("Retry-After"));
+        }
+    }
+
+    @Test
+    void tryAcquire_WhenIntervalPassedThenTokenRefilledTest() {
+        TokenBucket bucket = new TokenBucket();
+        long interval = 100;
+
+        assertEquals(0, bucket.tryAcquire(0, interval, interval));
+        assertEquals(0, bucket.tryAcquire(0, interval, interval));
+        assertEquals(100, bucket.tryAcquire(0, interval, interval));
+        assertEquals(0, bucket.tryAcquire(100, interval, interval));
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(UUID userId) {
+        CustomUserDetails userDetails = new CustomUserDetails(userId, "test@mail.ru", "Test", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.taskmanagment.adapters.out.persistence;
+
+import com.example.taskmanagment.application.domain.dto.CommentViewDTO;
+import com.example.taskmanagment.application.domain.dto.TaskFilter;
+import com.example.taskmanagment.application.domain.dto.TaskViewDTO;
+import com.example.taskmanagment.application.domain.enums.PriorityLevel;
+import com.example.taskmanagment.application.domain.enums.TaskStatus;
+import com.example.taskmanagment.application.domain.models.Comment;
+import com.example.taskmanagment.application.domain.models.Task;
+import com.example.taskmanagment.application.domain.models.User;
+import com.example.taskmanagment.application.ports.out.CommentRepository;
+import com.example.taskmanagment.application.ports.out.TaskRepository;
+import com.example.taskmanagment.application.utils.mappers.TaskMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет, что страница из N строк загружается одним SQL-запросом вместе с email пользователей,
+ * а загрузка задачи для изменения - одним запросом вместе с автором и исполнителем.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({TaskRepositoryJpaImpl.class, CommentRepositoryJpaImpl.class})
+class FetchPlanStatementCountTest {
+    private static final int ROWS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final TaskMapper taskMapper = new TaskMapper();
+
+    private Statistics statistics;
+    private User author;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        author = entityManager.persist(User.builder()
+                .username("Author")
+                .email("author@mail.ru")
+                .build());
+        for (int i = 0; i < ROWS; i++) {
+            User assignee = entityManager.persist(User.builder()
+                    .username("Assignee " + i)
+                    .email("assignee" + i + "@mail.ru")
+                    .build());
+            task = entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .status(TaskStatus.WAITING)
+                    .priority(PriorityLevel.LOW)
+                    .createdDate(LocalDateTime.now().minusMinutes(i))
+                    .author(author)
+                    .assignee(assignee)
+                    .build());
+        }
+        for (int i = 0; i < ROWS; i++) {
+            User commenter = entityManager.persist(User.builder()
+                    .username("Commenter " + i)
+                    .email("commenter" + i + "@mail.ru")
+                    .build());
+            entityManager.persist(Comment.builder()
+                    .content("Comment " + i)
+                    .createdDate(LocalDateTime.now().plusMinutes(i))
+                    .author(commenter)
+                    .task(task)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findTaskById_IssuesSingleStatementTest() {
+        Optional<TaskViewDTO> found = taskRepository.findById(task.getId()).map(taskMapper::toTaskDto);
+
+        assertTrue(found.isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findTaskViewById_IssuesSingleStatementAndNoEntitiesTest() {
+        Optional<TaskViewDTO> found = taskRepository.findViewById(task.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals("author@mail.ru", found.get().getAuthorEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllTasks_IssuesSingleStatementPerPageTest() {
+        List<TaskViewDTO> tasks = taskRepository.findAll(TaskFilter.byAuthor(author.getId(), null, null), 0, ROWS);
+
+        assertEquals(ROWS, tasks.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllTasksAfterCursor_IssuesSingleStatementPerPageTest() {
+        List<TaskViewDTO> tasks = taskRepository.findAllAfter(TaskFilter.byAuthor(author.getId(), null, null), null, ROWS);
+
+        assertEquals(ROWS, tasks.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllCommentsByTask_IssuesSingleStatementPerPageTest() {
+        List<CommentViewDTO> comments = commentRepository.findAllByTask(task.getId(), 0, ROWS);
+
+        assertEquals(ROWS, comments.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllCommentsByTaskAfterCursor_IssuesSingleStatementPerPageTest() {
+        List<CommentViewDTO> comments = commentRepository.findAllByTaskAfter(task.getId(), null, ROWS);
+
+        assertEquals(ROWS, comments.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskmanagment.adapters.out.persistence.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker writesTracker;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        writesTracker = new ReadYourWritesTracker(60_000);
+        routingDataSource = new ReadWriteRoutingDataSource(mock(DataSource.class), mock(DataSource.class), lagMonitor, writesTracker);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test@mail.ru", null, List.of()));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_GoesToReplicaTest() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(DataSourceRole.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readWriteTransaction_GoesToPrimaryTest() {
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransaction_WhenReplicaLagsTest() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnWriteTest() {
+        routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(DataSourceRole.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@mail.ru", null, List.of()));
+        assertEquals(DataSourceRole.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+}
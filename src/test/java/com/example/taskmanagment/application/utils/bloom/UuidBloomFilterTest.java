@@ -0,0 +1,43 @@
+package com.example.taskmanagment.application.utils.bloom;
+
+import com.example.taskmanagment.application.utils.ids.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidBloomFilterTest {
+    private static final int SIZE = 10_000;
+
+    @Test
+    void mightContain_HasNoFalseNegativesTest() {
+        UuidBloomFilter filter = new UuidBloomFilter(SIZE, 0.01);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            UUID id = UuidV7Generator.next();
+            filter.put(id);
+            added.add(id);
+        }
+
+        added.forEach(id -> assertTrue(filter.mightContain(id)));
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateNearConfiguredTest() {
+        UuidBloomFilter filter = new UuidBloomFilter(SIZE, 0.01);
+        for (int i = 0; i < SIZE; i++) {
+            filter.put(UuidV7Generator.next());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (filter.mightContain(UuidV7Generator.next())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < SIZE * 0.03, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanagment.application.utils.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_HasVersion7AndRfcVariantTest() {
+        UUID id = UuidV7Generator.next();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_IsMonotonicWithinMillisecondTest() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            // Старшие 64 бита содержат время и счётчик, беззнаковое сравнение совпадает с порядком в PostgreSQL
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_ContainsCurrentTimestampTest() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+    }
+}